@@ -1,6 +1,7 @@
 import os
 import numpy as np
 from fastapi import FastAPI
+from fastapi.responses import JSONResponse
 from pydantic import BaseModel
 import httpx
 import logging
@@ -17,6 +18,9 @@ class SimilarityRequest(BaseModel):
     text1: str
     text2: str
 
+class BatchSimilarityRequest(BaseModel):
+    pairs: list[SimilarityRequest]
+
 def cosine_similarity(a, b):
     a, b = np.array(a), np.array(b)
     return float(np.dot(a, b) / (np.linalg.norm(a) * np.linalg.norm(b) + 1e-10))
@@ -39,6 +43,21 @@ async def get_embedding(text: str) -> list:
             return result[0]
         return result
 
+async def get_embeddings(texts: list) -> list:
+    """Embeds all texts with a single inference call; order matches the input."""
+    headers = {}
+    if HF_TOKEN:
+        headers["Authorization"] = f"Bearer {HF_TOKEN}"
+
+    async with httpx.AsyncClient(timeout=30) as client:
+        response = await client.post(
+            HF_API_URL,
+            headers=headers,
+            json={"inputs": texts}
+        )
+        response.raise_for_status()
+        return response.json()
+
 @app.get("/health")
 async def health():
     return {"status": "ok", "ready": True, "mode": "huggingface-api"}
@@ -53,4 +72,21 @@ async def similarity(req: SimilarityRequest):
     except Exception as e:
         log.error(f"Embedding error: {e}")
         # Return 0 so Spring Boot falls back to keyword scoring
-        return {"similarity": 0.0}
\ No newline at end of file
+        return {"similarity": 0.0}
+
+@app.post("/similarity/batch")
+async def similarity_batch(req: BatchSimilarityRequest):
+    # Ideal answers repeat across a batch, so each distinct text is embedded once
+    texts = list(dict.fromkeys(t for p in req.pairs for t in (p.text1, p.text2)))
+    try:
+        embeddings = dict(zip(texts, await get_embeddings(texts))) if texts else {}
+        scores = [
+            round(cosine_similarity(embeddings[p.text1], embeddings[p.text2]), 4)
+            for p in req.pairs
+        ]
+        return {"similarities": scores}
+    except Exception as e:
+        log.error(f"Batch embedding error: {e}")
+        # An error status, not zeros: the client then scores the whole batch keyword-only
+        # instead of treating 0.0 as a real similarity
+        return JSONResponse(status_code=503, content={"error": "embedding_unavailable", "message": str(e)})
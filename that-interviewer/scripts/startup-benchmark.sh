@@ -0,0 +1,57 @@
+#!/usr/bin/env bash
+# Compares time-to-first-request and resident memory of the JVM jar and the native binary.
+#
+#   ./mvnw -DskipTests package                 # target/that-interviewer-*.jar
+#   ./mvnw -Pnative -DskipTests native:compile # target/that-interviewer
+#   scripts/startup-benchmark.sh [runs]
+#
+# The first request is GET /question, which touches the catalog, Jackson and the web stack.
+set -euo pipefail
+
+cd "$(dirname "$0")/.."
+
+RUNS="${1:-5}"
+PORT="${PORT:-18080}"
+JAR="$(ls target/that-interviewer-*.jar 2>/dev/null | grep -v plain | head -n1 || true)"
+NATIVE="target/that-interviewer"
+
+now_ms() { date +%s%3N; }
+
+measure() {
+  local label="$1"; shift
+  local total_ttfr=0 total_rss=0
+
+  for ((i = 1; i <= RUNS; i++)); do
+    local start pid ttfr rss
+    start=$(now_ms)
+    SERVER_PORT="$PORT" CATALOG_SNAPSHOT_PATH="" PERCENTILES_CHECKPOINT_PATH="" \
+      "$@" >/dev/null 2>&1 &
+    pid=$!
+
+    until curl -sf "http://localhost:${PORT}/question" >/dev/null; do
+      if ! kill -0 "$pid" 2>/dev/null; then echo "$label exited before serving" >&2; exit 1; fi
+      sleep 0.01
+    done
+    ttfr=$(( $(now_ms) - start ))
+    rss=$(awk '/VmRSS/ {print $2}' "/proc/${pid}/status")   # kB
+
+    kill "$pid"; wait "$pid" 2>/dev/null || true
+    total_ttfr=$((total_ttfr + ttfr)); total_rss=$((total_rss + rss))
+    printf '  %-7s run %d: first request %5d ms, RSS %6d MB\n' "$label" "$i" "$ttfr" $((rss / 1024))
+  done
+
+  printf '%-7s avg: first request %5d ms, RSS %6d MB\n\n' "$label" \
+    $((total_ttfr / RUNS)) $((total_rss / RUNS / 1024))
+}
+
+if [[ -n "$JAR" ]]; then
+  measure jvm java -jar "$JAR"
+else
+  echo "No jar in target/ — run ./mvnw -DskipTests package" >&2
+fi
+
+if [[ -x "$NATIVE" ]]; then
+  measure native "./$NATIVE"
+else
+  echo "No native binary in target/ — run ./mvnw -Pnative -DskipTests native:compile" >&2
+fi
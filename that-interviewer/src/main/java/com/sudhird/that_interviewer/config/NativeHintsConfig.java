@@ -0,0 +1,82 @@
+package com.sudhird.that_interviewer.config;
+
+import com.sudhird.that_interviewer.dto.ErrorResponse;
+import com.sudhird.that_interviewer.dto.EvaluateRequest;
+import com.sudhird.that_interviewer.dto.EvaluateResponse;
+import com.sudhird.that_interviewer.dto.QuestionResponse;
+import com.sudhird.that_interviewer.dto.QuestionSearchResponse;
+import com.sudhird.that_interviewer.dto.RescoreJobResponse;
+import com.sudhird.that_interviewer.dto.RescoreRequest;
+import com.sudhird.that_interviewer.dto.ScoringResult;
+import com.sudhird.that_interviewer.dto.SessionStartResponse;
+import com.sudhird.that_interviewer.dto.SummaryResponse;
+import com.sudhird.that_interviewer.model.EvaluationRecord;
+import com.sudhird.that_interviewer.model.Question;
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+import org.springframework.aot.hint.TypeReference;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.ImportRuntimeHints;
+
+import java.util.List;
+
+/**
+ * Reflection and resource hints for the native image ({@code mvn -Pnative native:compile}).
+ * Spring AOT covers beans and controller signatures; this adds what it cannot see:
+ * Jackson binding of the catalog and of the embedding client's private DTOs.
+ */
+@Configuration
+@ImportRuntimeHints(NativeHintsConfig.InterviewerRuntimeHints.class)
+public class NativeHintsConfig {
+
+    static class InterviewerRuntimeHints implements RuntimeHintsRegistrar {
+
+        private static final List<Class<?>> BOUND_TYPES = List.of(
+                ErrorResponse.class,
+                EvaluateRequest.class,
+                EvaluateResponse.class,
+                QuestionResponse.class,
+                QuestionSearchResponse.class,
+                QuestionSearchResponse.SearchHit.class,
+                RescoreJobResponse.class,
+                RescoreRequest.class,
+                ScoringResult.class,
+                SessionStartResponse.class,
+                SessionStartResponse.SessionQuestion.class,
+                SummaryResponse.class,
+                SummaryResponse.QuestionSummary.class,
+                EvaluationRecord.class,
+                Question.class
+        );
+
+        // Private records inside EmbeddingClient, (de)serialized by WebClient's Jackson codec
+        private static final List<String> EMBEDDING_DTOS = List.of(
+                "SimilarityRequest",
+                "SimilarityResponse",
+                "TextPair",
+                "BatchSimilarityRequest",
+                "BatchSimilarityResponse"
+        );
+
+        // Bound from scoring.weight-sets by ScoringWeightsRegistry
+        private static final String WEIGHT_SET = "com.sudhird.that_interviewer.service.ScoringWeightsRegistry$WeightSet";
+
+        @Override
+        public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+            MemberCategory[] binding = {
+                    MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                    MemberCategory.INVOKE_DECLARED_METHODS,
+                    MemberCategory.ACCESS_DECLARED_FIELDS
+            };
+
+            BOUND_TYPES.forEach(type -> hints.reflection().registerType(type, binding));
+            EMBEDDING_DTOS.forEach(name -> hints.reflection().registerType(
+                    TypeReference.of("com.sudhird.that_interviewer.service.EmbeddingClient$" + name), binding));
+            hints.reflection().registerType(TypeReference.of(WEIGHT_SET), binding);
+
+            // Bundled catalog (classpath:*.json) — file: catalogs and the snapshot live outside the image
+            hints.resources().registerPattern("*.json");
+        }
+    }
+}
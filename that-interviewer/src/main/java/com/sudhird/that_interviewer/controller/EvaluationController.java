@@ -2,7 +2,10 @@ package com.sudhird.that_interviewer.controller;
 
 import com.sudhird.that_interviewer.dto.EvaluateRequest;
 import com.sudhird.that_interviewer.dto.EvaluateResponse;
+import com.sudhird.that_interviewer.model.EvaluationRecord;
 import com.sudhird.that_interviewer.service.EvaluationService;
+import com.sudhird.that_interviewer.service.EvaluationTimings;
+import com.sudhird.that_interviewer.service.PercentileService;
 import jakarta.validation.Valid;
 import lombok.RequiredArgsConstructor;
 import org.springframework.http.HttpStatus;
@@ -17,23 +20,33 @@ import java.util.List;
 public class EvaluationController {
 
     private final EvaluationService evaluationService;
+    private final PercentileService percentileService;
 
     @PostMapping
     public ResponseEntity<EvaluateResponse> submitAnswer(@Valid @RequestBody EvaluateRequest request) {
-        var record = evaluationService.saveAnswer(request.questionId(), request.answer(), request.sessionId());
-        return ResponseEntity.status(HttpStatus.CREATED).body(EvaluateResponse.from(record));
+        var timings = new EvaluationTimings(request.questionId(), request.sessionId());
+        var record = evaluationService.saveAnswer(request.questionId(), request.answer(), request.sessionId(), timings);
+        return ResponseEntity.status(HttpStatus.CREATED)
+                .header("Server-Timing", timings.toServerTimingHeader())
+                .body(toResponse(record));
     }
 
     @GetMapping
     public List<EvaluateResponse> listAll() {
-        return evaluationService.getAll().stream().map(EvaluateResponse::from).toList();
+        return evaluationService.getAll().stream().map(this::toResponse).toList();
     }
 
     @GetMapping("/{id}")
     public ResponseEntity<EvaluateResponse> getById(@PathVariable Long id) {
         return evaluationService.getById(id)
-                .<ResponseEntity<EvaluateResponse>>map(r -> ResponseEntity.ok(EvaluateResponse.from(r)))
+                .<ResponseEntity<EvaluateResponse>>map(r -> ResponseEntity.ok(toResponse(r)))
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
-}
 
+    private EvaluateResponse toResponse(EvaluationRecord r) {
+        double score = r.getFinalScore() == null ? 0.0 : r.getFinalScore();
+        return EvaluateResponse.from(r,
+                percentileService.questionPercentile(r.getQuestionId(), score).orElse(null),
+                percentileService.experiencePercentile(r.getExperience(), score).orElse(null));
+    }
+}
@@ -1,5 +1,6 @@
 package com.sudhird.that_interviewer.controller;
 
+import com.sudhird.that_interviewer.dto.ErrorResponse;
 import com.sudhird.that_interviewer.dto.QuestionResponse;
 import com.sudhird.that_interviewer.service.QuestionCatalogService;
 import lombok.RequiredArgsConstructor;
@@ -12,6 +13,8 @@ import org.springframework.web.bind.annotation.RestController;
 @RequiredArgsConstructor
 public class QuestionController {
 
+    private static final int MAX_PAGE_SIZE = 100;
+
     private final QuestionCatalogService catalogService;
 
     @GetMapping("/question")
@@ -22,4 +25,22 @@ public class QuestionController {
                 .<ResponseEntity<?>>map(q -> ResponseEntity.ok(QuestionResponse.from(q)))
                 .orElseGet(() -> ResponseEntity.notFound().build());
     }
+
+    @GetMapping("/question/search")
+    public ResponseEntity<?> search(
+            @RequestParam String q,
+            @RequestParam(required = false) String role,
+            @RequestParam(required = false) String experience,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "20") int size
+    ) {
+        if (q.isBlank()) {
+            return ResponseEntity.badRequest().body(new ErrorResponse("invalid_query", "q must not be blank"));
+        }
+        if (page < 0 || size < 1 || size > MAX_PAGE_SIZE) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(
+                    "invalid_page", "page must be >= 0 and size between 1 and " + MAX_PAGE_SIZE));
+        }
+        return ResponseEntity.ok(catalogService.search(q, role, experience, page, size));
+    }
 }
@@ -0,0 +1,83 @@
+package com.sudhird.that_interviewer.controller;
+
+import com.sudhird.that_interviewer.dto.ErrorResponse;
+import com.sudhird.that_interviewer.dto.RescoreJobResponse;
+import com.sudhird.that_interviewer.dto.RescoreRequest;
+import com.sudhird.that_interviewer.model.ScoringWeights;
+import com.sudhird.that_interviewer.service.RescoringService;
+import com.sudhird.that_interviewer.service.ScoringWeightsRegistry;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.Optional;
+
+@RestController
+@RequestMapping("/admin/rescore")
+@RequiredArgsConstructor
+public class RescoringController {
+
+    private final RescoringService rescoringService;
+    private final ScoringWeightsRegistry weightsRegistry;
+
+    @PostMapping
+    public ResponseEntity<?> start(@Valid @RequestBody RescoreRequest request) {
+        if (request.hasPartialWeights()) {
+            return ResponseEntity.badRequest().body(new ErrorResponse(
+                    "partial_weights", "Custom weights need all of similarity, required and advanced"));
+        }
+
+        ScoringWeights weights;
+        if (request.hasCustomWeights()) {
+            if (weightsRegistry.forVersion(request.version()).isPresent()) {
+                return ResponseEntity.badRequest().body(new ErrorResponse(
+                        "version_exists", "Weight set '" + request.version() + "' already exists; pick a new name"));
+            }
+            try {
+                weights = weightsRegistry.register(new ScoringWeights(
+                        request.version(), request.similarity(), request.required(), request.advanced(),
+                        ScoringWeights.KeywordOnly.RENORMALIZE));
+            } catch (IllegalArgumentException e) {
+                return ResponseEntity.badRequest().body(new ErrorResponse("invalid_weights", e.getMessage()));
+            }
+        } else {
+            Optional<ScoringWeights> known = weightsRegistry.forVersion(request.version());
+            if (known.isEmpty()) {
+                return ResponseEntity.badRequest().body(new ErrorResponse(
+                        "unknown_version", "No weight set named '" + request.version() + "' and no weights supplied"));
+            }
+            weights = known.get();
+        }
+
+        RescoreJobResponse job = rescoringService.start(
+                weights, Boolean.TRUE.equals(request.refreshMissingSimilarity()));
+        return ResponseEntity.status(HttpStatus.ACCEPTED).body(job);
+    }
+
+    @GetMapping("/{jobId}")
+    public ResponseEntity<RescoreJobResponse> getStatus(@PathVariable String jobId) {
+        return rescoringService.getStatus(jobId)
+                .<ResponseEntity<RescoreJobResponse>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/{jobId}/cancel")
+    public ResponseEntity<RescoreJobResponse> cancel(@PathVariable String jobId) {
+        return rescoringService.cancel(jobId)
+                .<ResponseEntity<RescoreJobResponse>>map(ResponseEntity::ok)
+                .orElseGet(() -> ResponseEntity.notFound().build());
+    }
+
+    @PostMapping("/{jobId}/resume")
+    public ResponseEntity<?> resume(@PathVariable String jobId) {
+        try {
+            return rescoringService.resume(jobId)
+                    .<ResponseEntity<?>>map(j -> ResponseEntity.status(HttpStatus.ACCEPTED).body(j))
+                    .orElseGet(() -> ResponseEntity.notFound().build());
+        } catch (IllegalStateException e) {
+            return ResponseEntity.status(HttpStatus.CONFLICT).body(new ErrorResponse("not_resumable", e.getMessage()));
+        }
+    }
+}
@@ -23,9 +23,16 @@ public record EvaluateResponse(
         List<String> matchedRequired,
         List<String> matchedAdvanced,
 
+        Double questionPercentile,       // "better than X%" on this question; null until others have answered
+        Double experiencePercentile,     // same, across the experience bracket
+
         String status
 ) {
     public static EvaluateResponse from(EvaluationRecord r) {
+        return from(r, null, null);
+    }
+
+    public static EvaluateResponse from(EvaluationRecord r, Double questionPercentile, Double experiencePercentile) {
         return new EvaluateResponse(
                 r.getId(),
                 r.getQuestionId(),
@@ -40,6 +47,8 @@ public record EvaluateResponse(
                 Boolean.TRUE.equals(r.getEmbeddingUsed()),
                 splitCsv(r.getMatchedRequired()),
                 splitCsv(r.getMatchedAdvanced()),
+                questionPercentile,
+                experiencePercentile,
                 "evaluated"
         );
     }
@@ -0,0 +1,16 @@
+package com.sudhird.that_interviewer.dto;
+
+import java.util.List;
+
+public record QuestionSearchResponse(
+        String query,
+        int page,
+        int size,
+        int totalHits,
+        List<SearchHit> results
+) {
+    public record SearchHit(
+            double score,
+            QuestionResponse question
+    ) {}
+}
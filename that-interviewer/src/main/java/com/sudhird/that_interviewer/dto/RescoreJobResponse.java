@@ -0,0 +1,19 @@
+package com.sudhird.that_interviewer.dto;
+
+import java.time.Instant;
+
+public record RescoreJobResponse(
+        String jobId,
+        String version,
+        String status,              // QUEUED / RUNNING / COMPLETED / FAILED / CANCELLED
+        long processed,
+        long updated,
+        long skipped,               // already at target version, or question no longer in catalog
+        long failed,
+        long archivedUpdated,       // archived rows rewritten in their segments (also counted in updated)
+        long lastProcessedId,       // resume cursor — everything up to this id is written back
+        double recordsPerSecond,
+        Instant startedAt,
+        Instant finishedAt,
+        String error
+) {}
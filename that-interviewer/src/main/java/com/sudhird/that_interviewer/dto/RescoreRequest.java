@@ -0,0 +1,25 @@
+package com.sudhird.that_interviewer.dto;
+
+import jakarta.validation.constraints.NotBlank;
+
+public record RescoreRequest(
+        @NotBlank(message = "version is required")
+        String version,
+
+        // Optional — when all three are set they define a new weight set under `version`,
+        // which must not already exist; when none are set `version` must name a known set
+        Double similarity,
+        Double required,
+        Double advanced,
+
+        // Optional — call the embedding service for records that were scored keyword-only
+        Boolean refreshMissingSimilarity
+) {
+    public boolean hasCustomWeights() {
+        return similarity != null && required != null && advanced != null;
+    }
+
+    public boolean hasPartialWeights() {
+        return !hasCustomWeights() && (similarity != null || required != null || advanced != null);
+    }
+}
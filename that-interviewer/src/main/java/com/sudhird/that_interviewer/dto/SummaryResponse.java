@@ -9,6 +9,7 @@ public record SummaryResponse(
         int totalQuestions,
         double totalScore,          // average finalScore across all answers
         String grade,               // A / B / C / D / F
+        Double percentile,          // better than X% of completed sessions; null until there are others
         List<QuestionSummary> results
 ) {
     public record QuestionSummary(
@@ -23,7 +24,8 @@ public record SummaryResponse(
             Double similarityScore,
             List<String> matchedRequired,
             List<String> matchedAdvanced,
-            boolean embeddingUsed
+            boolean embeddingUsed,
+            Double percentile       // better than X% of answers to this question
     ) {}
 
     public static String toGrade(double score) {
@@ -0,0 +1,409 @@
+package com.sudhird.that_interviewer.model;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.ref.SoftReference;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Immutable, column-oriented file of archived {@link EvaluationRecord}s.
+ * <p>
+ * Layout (big-endian): header (magic, format version, row count, min/max id, column count),
+ * a directory of {offset, compressed length, raw length} per column, then one
+ * Deflate-compressed block per column. The file is memory-mapped; a column is only
+ * inflated when a lookup or scan needs it. Record ids are kept in memory, sorted, so
+ * point lookups go straight to the right row. Lookups need every column, so the decoded
+ * columns are kept behind a soft reference: repeated lookups into a hot segment inflate it
+ * once, and the GC drops the decoded copy under memory pressure.
+ */
+public final class ArchiveSegment {
+
+    private static final int MAGIC = 0x54494153;   // "TIAS"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 4 + 4 + 4 + 8 + 8 + 4;
+    private static final int DIRECTORY_ENTRY_BYTES = 8 + 4 + 4;
+
+    /** Column order in the file. */
+    private enum Column {
+        ID, SESSION_ID, QUESTION_ID, QUESTION_TEXT, USER_ANSWER, EXPERIENCE,
+        FINAL_SCORE, REQUIRED_CONCEPT_SCORE, ADVANCED_BONUS, SIMILARITY_SCORE,
+        MATCHED_REQUIRED, MATCHED_ADVANCED, EMBEDDING_USED, SCORING_VERSION, SUBMITTED_AT
+    }
+
+    private final Path path;
+    private final MappedByteBuffer mapped;
+    private final long[] columnOffsets;
+    private final int[] compressedLengths;
+    private final int[] rawLengths;
+    private final long[] ids;
+    // Sorted distinct session-id hashes: lets session lookups skip segments without inflating
+    private final int[] sessionHashes;
+    private volatile SoftReference<Rows> decoded = new SoftReference<>(null);
+
+    private ArchiveSegment(Path path, MappedByteBuffer mapped, long[] columnOffsets,
+                           int[] compressedLengths, int[] rawLengths, long[] ids, int[] sessionHashes) {
+        this.path = path;
+        this.mapped = mapped;
+        this.columnOffsets = columnOffsets;
+        this.compressedLengths = compressedLengths;
+        this.rawLengths = rawLengths;
+        this.ids = ids;
+        this.sessionHashes = sessionHashes;
+    }
+
+    public Path path()   { return path; }
+    public int rows()    { return ids.length; }
+    public long minId()  { return ids.length == 0 ? Long.MAX_VALUE : ids[0]; }
+    public long maxId()  { return ids.length == 0 ? Long.MIN_VALUE : ids[ids.length - 1]; }
+
+    public boolean contains(long id) {
+        return Arrays.binarySearch(ids, id) >= 0;
+    }
+
+    // ── Reading ───────────────────────────────────────────────────────────────
+
+    public static ArchiveSegment open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return open(path, channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        } catch (BufferUnderflowException | IndexOutOfBoundsException | IllegalStateException e) {
+            throw new IOException("Corrupt archive segment: " + path, e);
+        }
+    }
+
+    private static ArchiveSegment open(Path path, MappedByteBuffer buf) throws IOException {
+        if (buf.getInt() != MAGIC) throw new IOException("Not an archive segment: " + path);
+        int version = buf.getInt();
+        if (version != FORMAT_VERSION) throw new IOException("Unsupported segment version " + version + ": " + path);
+        buf.getInt();    // row count, implied by the id column
+        buf.getLong();   // min id
+        buf.getLong();   // max id
+        int columns = buf.getInt();
+        if (columns != Column.values().length) throw new IOException("Unexpected column count in " + path);
+
+        long[] offsets = new long[columns];
+        int[] compressed = new int[columns];
+        int[] raw = new int[columns];
+        for (int c = 0; c < columns; c++) {
+            offsets[c] = buf.getLong();
+            compressed[c] = buf.getInt();
+            raw[c] = buf.getInt();
+            // Deflate expands at most ~1032:1, so a larger raw length can only be corruption
+            if (offsets[c] < HEADER_BYTES || compressed[c] < 0 || offsets[c] + compressed[c] > buf.capacity()
+                    || raw[c] < 0 || raw[c] > compressed[c] * 1032L + 64) {
+                throw new IOException("Column " + Column.values()[c] + " out of range in " + path);
+            }
+        }
+
+        ArchiveSegment segment = new ArchiveSegment(path, buf, offsets, compressed, raw, null, null);
+        long[] ids = segment.readLongs(Column.ID);
+        int[] sessionHashes = Arrays.stream(segment.readStrings(Column.SESSION_ID))
+                .filter(Objects::nonNull)
+                .mapToInt(String::hashCode)
+                .distinct()
+                .sorted()
+                .toArray();
+        return new ArchiveSegment(path, buf, offsets, compressed, raw, ids, sessionHashes);
+    }
+
+    public Optional<EvaluationRecord> findById(long id) {
+        int row = Arrays.binarySearch(ids, id);
+        if (row < 0) return Optional.empty();
+        return Optional.of(materialize(new int[]{row}).get(0));
+    }
+
+    public List<EvaluationRecord> findBySessionId(String sessionId) {
+        if (Arrays.binarySearch(sessionHashes, sessionId.hashCode()) < 0) return List.of();
+        String[] sessions = decoded().sessionIds;
+        int[] rows = new int[sessions.length];
+        int matches = 0;
+        for (int i = 0; i < sessions.length; i++) {
+            if (sessionId.equals(sessions[i])) rows[matches++] = i;
+        }
+        return matches == 0 ? List.of() : materialize(Arrays.copyOf(rows, matches));
+    }
+
+    /** Analytics scan over the score columns only; the text columns stay compressed unless already decoded. */
+    public void scanScores(ScoreVisitor visitor) {
+        Rows d = decoded.get();
+        int[] questionIds = d != null ? d.questionIds : readInts(Column.QUESTION_ID);
+        String[] experiences = d != null ? d.experiences : readStrings(Column.EXPERIENCE);
+        double[] finalScores = d != null ? d.finalScores : readDoubles(Column.FINAL_SCORE);
+        String[] sessions = d != null ? d.sessionIds : readStrings(Column.SESSION_ID);
+        for (int i = 0; i < ids.length; i++) {
+            if (Double.isNaN(finalScores[i])) continue;
+            visitor.visit(ids[i], questionIds[i], experiences[i], finalScores[i], sessions[i]);
+        }
+    }
+
+    @FunctionalInterface
+    public interface ScoreVisitor {
+        void visit(long id, int questionId, String experience, double finalScore, String sessionId);
+    }
+
+    /** Every row, in id order. */
+    public List<EvaluationRecord> readAll() {
+        int[] rows = new int[ids.length];
+        for (int i = 0; i < rows.length; i++) rows[i] = i;
+        return materialize(rows);
+    }
+
+    private List<EvaluationRecord> materialize(int[] rows) {
+        Rows d = decoded();
+        List<EvaluationRecord> out = new ArrayList<>(rows.length);
+        for (int i : rows) {
+            EvaluationRecord r = new EvaluationRecord();
+            r.setId(ids[i]);
+            r.setSessionId(d.sessionIds[i]);
+            r.setQuestionId(d.questionIds[i]);
+            r.setQuestionText(d.questionTexts[i]);
+            r.setUserAnswer(d.userAnswers[i]);
+            r.setExperience(d.experiences[i]);
+            r.setFinalScore(nullable(d.finalScores[i]));
+            r.setRequiredConceptScore(nullable(d.requiredScores[i]));
+            r.setAdvancedBonus(nullable(d.advancedBonuses[i]));
+            r.setSimilarityScore(nullable(d.similarities[i]));
+            r.setMatchedRequired(d.matchedRequired[i]);
+            r.setMatchedAdvanced(d.matchedAdvanced[i]);
+            r.setEmbeddingUsed(d.embeddingUsed[i] < 0 ? null : d.embeddingUsed[i] == 1);
+            r.setScoringVersion(d.scoringVersions[i]);
+            r.setSubmittedAt(Instant.ofEpochSecond(0, d.submittedAt[i]));
+            out.add(r);
+        }
+        return out;
+    }
+
+    private Rows decoded() {
+        Rows d = decoded.get();
+        if (d == null) {
+            // Two racing lookups may both decode; either result is correct
+            d = new Rows(
+                    readStrings(Column.SESSION_ID),
+                    readInts(Column.QUESTION_ID),
+                    readStrings(Column.QUESTION_TEXT),
+                    readStrings(Column.USER_ANSWER),
+                    readStrings(Column.EXPERIENCE),
+                    readDoubles(Column.FINAL_SCORE),
+                    readDoubles(Column.REQUIRED_CONCEPT_SCORE),
+                    readDoubles(Column.ADVANCED_BONUS),
+                    readDoubles(Column.SIMILARITY_SCORE),
+                    readStrings(Column.MATCHED_REQUIRED),
+                    readStrings(Column.MATCHED_ADVANCED),
+                    readColumn(Column.EMBEDDING_USED).array(),
+                    readStrings(Column.SCORING_VERSION),
+                    readLongs(Column.SUBMITTED_AT));
+            decoded = new SoftReference<>(d);
+        }
+        return d;
+    }
+
+    /** Every column but the ids, decoded. */
+    private record Rows(
+            String[] sessionIds, int[] questionIds, String[] questionTexts, String[] userAnswers,
+            String[] experiences, double[] finalScores, double[] requiredScores, double[] advancedBonuses,
+            double[] similarities, String[] matchedRequired, String[] matchedAdvanced, byte[] embeddingUsed,
+            String[] scoringVersions, long[] submittedAt
+    ) {}
+
+    private ByteBuffer readColumn(Column column) {
+        int c = column.ordinal();
+        ByteBuffer compressed = mapped.slice((int) columnOffsets[c], compressedLengths[c]);
+        byte[] raw = new byte[rawLengths[c]];
+
+        Inflater inflater = new Inflater();
+        try {
+            inflater.setInput(compressed);
+            int n = 0;
+            while (n < raw.length) {
+                int k = inflater.inflate(raw, n, raw.length - n);
+                if (k == 0 && (inflater.finished() || inflater.needsInput())) break;
+                n += k;
+            }
+            if (n != raw.length) {
+                throw new IllegalStateException("Truncated column " + column + " in " + path);
+            }
+        } catch (DataFormatException e) {
+            throw new IllegalStateException("Corrupt column " + column + " in " + path, e);
+        } finally {
+            inflater.end();
+        }
+        return ByteBuffer.wrap(raw);
+    }
+
+    private long[] readLongs(Column column) {
+        ByteBuffer buf = readColumn(column);
+        long[] out = new long[buf.remaining() / Long.BYTES];
+        buf.asLongBuffer().get(out);
+        return out;
+    }
+
+    private int[] readInts(Column column) {
+        ByteBuffer buf = readColumn(column);
+        int[] out = new int[buf.remaining() / Integer.BYTES];
+        buf.asIntBuffer().get(out);
+        return out;
+    }
+
+    private double[] readDoubles(Column column) {
+        ByteBuffer buf = readColumn(column);
+        double[] out = new double[buf.remaining() / Double.BYTES];
+        buf.asDoubleBuffer().get(out);
+        return out;
+    }
+
+    private String[] readStrings(Column column) {
+        ByteBuffer buf = readColumn(column);
+        int count = buf.getInt();
+        if (count < 0 || count > buf.remaining() / Integer.BYTES) {
+            throw new IllegalStateException("Corrupt column " + column + " in " + path);
+        }
+        String[] out = new String[count];
+        for (int i = 0; i < out.length; i++) {
+            int len = buf.getInt();
+            if (len < 0) continue;
+            out[i] = new String(buf.array(), buf.position(), len, StandardCharsets.UTF_8);
+            buf.position(buf.position() + len);
+        }
+        return out;
+    }
+
+    private static Double nullable(double value) {
+        return Double.isNaN(value) ? null : value;
+    }
+
+    // ── Writing ───────────────────────────────────────────────────────────────
+
+    /**
+     * Writes {@code records} (sorted by id) to a temp file next to {@code path} and moves
+     * it into place atomically, then opens it.
+     */
+    public static ArchiveSegment write(Path path, List<EvaluationRecord> records) throws IOException {
+        byte[][] blocks = new byte[Column.values().length][];
+        int[] rawLengths = new int[blocks.length];
+
+        for (Column column : Column.values()) {
+            byte[] raw = encode(column, records);
+            rawLengths[column.ordinal()] = raw.length;
+            blocks[column.ordinal()] = deflate(raw);
+        }
+
+        Path dir = path.toAbsolutePath().getParent();
+        Files.createDirectories(dir);
+        Path tmp = Files.createTempFile(dir, path.getFileName().toString(), ".tmp");
+        try {
+            try (OutputStream os = Files.newOutputStream(tmp); DataOutputStream out = new DataOutputStream(os)) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeInt(records.size());
+                out.writeLong(records.isEmpty() ? 0 : records.get(0).getId());
+                out.writeLong(records.isEmpty() ? 0 : records.get(records.size() - 1).getId());
+                out.writeInt(blocks.length);
+
+                long offset = HEADER_BYTES + (long) DIRECTORY_ENTRY_BYTES * blocks.length;
+                for (int c = 0; c < blocks.length; c++) {
+                    out.writeLong(offset);
+                    out.writeInt(blocks[c].length);
+                    out.writeInt(rawLengths[c]);
+                    offset += blocks[c].length;
+                }
+                for (byte[] block : blocks) out.write(block);
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+        return open(path);
+    }
+
+    private static byte[] encode(Column column, List<EvaluationRecord> records) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        switch (column) {
+            case ID -> { for (EvaluationRecord r : records) out.writeLong(r.getId()); }
+            case SESSION_ID -> writeStrings(out, records, EvaluationRecord::getSessionId);
+            case QUESTION_ID -> { for (EvaluationRecord r : records) out.writeInt(r.getQuestionId()); }
+            case QUESTION_TEXT -> writeStrings(out, records, EvaluationRecord::getQuestionText);
+            case USER_ANSWER -> writeStrings(out, records, EvaluationRecord::getUserAnswer);
+            case EXPERIENCE -> writeStrings(out, records, EvaluationRecord::getExperience);
+            case FINAL_SCORE -> writeDoubles(out, records, EvaluationRecord::getFinalScore);
+            case REQUIRED_CONCEPT_SCORE -> writeDoubles(out, records, EvaluationRecord::getRequiredConceptScore);
+            case ADVANCED_BONUS -> writeDoubles(out, records, EvaluationRecord::getAdvancedBonus);
+            case SIMILARITY_SCORE -> writeDoubles(out, records, EvaluationRecord::getSimilarityScore);
+            case MATCHED_REQUIRED -> writeStrings(out, records, EvaluationRecord::getMatchedRequired);
+            case MATCHED_ADVANCED -> writeStrings(out, records, EvaluationRecord::getMatchedAdvanced);
+            case EMBEDDING_USED -> {
+                for (EvaluationRecord r : records) {
+                    out.writeByte(r.getEmbeddingUsed() == null ? -1 : r.getEmbeddingUsed() ? 1 : 0);
+                }
+            }
+            case SCORING_VERSION -> writeStrings(out, records, EvaluationRecord::getScoringVersion);
+            case SUBMITTED_AT -> {
+                for (EvaluationRecord r : records) {
+                    Instant t = r.getSubmittedAt();
+                    out.writeLong(t.getEpochSecond() * 1_000_000_000L + t.getNano());
+                }
+            }
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static void writeStrings(DataOutputStream out, List<EvaluationRecord> records,
+                                     Function<EvaluationRecord, String> getter) throws IOException {
+        out.writeInt(records.size());
+        for (EvaluationRecord r : records) {
+            String v = getter.apply(r);
+            if (v == null) {
+                out.writeInt(-1);
+                continue;
+            }
+            byte[] bytes = v.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static void writeDoubles(DataOutputStream out, List<EvaluationRecord> records,
+                                     Function<EvaluationRecord, Double> getter) throws IOException {
+        for (EvaluationRecord r : records) {
+            Double v = getter.apply(r);
+            out.writeDouble(v == null ? Double.NaN : v);
+        }
+    }
+
+    private static byte[] deflate(byte[] raw) {
+        Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+        try {
+            deflater.setInput(raw);
+            deflater.finish();
+            ByteArrayOutputStream out = new ByteArrayOutputStream(Math.max(64, raw.length / 4));
+            byte[] chunk = new byte[64 * 1024];
+            while (!deflater.finished()) {
+                int n = deflater.deflate(chunk);
+                out.write(chunk, 0, n);
+            }
+            return out.toByteArray();
+        } finally {
+            deflater.end();
+        }
+    }
+}
@@ -0,0 +1,165 @@
+package com.sudhird.that_interviewer.model;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Optional;
+
+/**
+ * Versioned binary image of a {@link CompactCatalog}.
+ * <p>
+ * Layout (big-endian): magic, format version, source fingerprint, the four dictionaries,
+ * then each column as a length-prefixed array. Strings are length-prefixed UTF-8 with
+ * {@code -1} for null. The file is memory-mapped on read and the primitive columns are
+ * bulk-copied straight out of the mapping.
+ */
+public final class CatalogSnapshot {
+
+    private static final int MAGIC = 0x54494353;   // "TICS"
+    private static final int FORMAT_VERSION = 1;
+
+    private CatalogSnapshot() {}
+
+    /**
+     * Loads the snapshot if it exists and was written from sources with the same fingerprint
+     * by the same format version; empty otherwise.
+     *
+     * @throws IOException if the file is truncated or a length field is out of range
+     */
+    public static Optional<CompactCatalog> read(Path path, long fingerprint) throws IOException {
+        if (!Files.isRegularFile(path)) return Optional.empty();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            MappedByteBuffer buf = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+
+            if (buf.remaining() < 16 || buf.getInt() != MAGIC) return Optional.empty();
+            if (buf.getInt() != FORMAT_VERSION) return Optional.empty();
+            if (buf.getLong() != fingerprint) return Optional.empty();
+
+            String[] roles = readStrings(buf);
+            String[] experiences = readStrings(buf);
+            String[] difficulties = readStrings(buf);
+            String[] concepts = readStrings(buf);
+            String[] questionText = readStrings(buf);
+            String[] idealAnswer = readStrings(buf);
+            short[] roleIds = readShorts(buf);
+            short[] experienceIds = readShorts(buf);
+            short[] difficultyIds = readShorts(buf);
+            int[] requiredOffsets = readInts(buf);
+            int[] requiredIds = readInts(buf);
+            int[] advancedOffsets = readInts(buf);
+            int[] advancedIds = readInts(buf);
+
+            return Optional.of(new CompactCatalog(
+                    roles, experiences, difficulties, concepts,
+                    questionText, idealAnswer,
+                    roleIds, experienceIds, difficultyIds,
+                    requiredOffsets, requiredIds, advancedOffsets, advancedIds
+            ));
+        } catch (BufferUnderflowException e) {
+            throw new IOException("Truncated catalog snapshot " + path, e);
+        }
+    }
+
+    /** Writes to a temp file next to {@code path} and moves it into place atomically. */
+    public static void write(CompactCatalog catalog, Path path, long fingerprint) throws IOException {
+        Path dir = path.toAbsolutePath().getParent();
+        if (dir != null) Files.createDirectories(dir);
+        Path tmp = Files.createTempFile(dir, path.getFileName().toString(), ".tmp");
+
+        try {
+            try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+                out.writeInt(MAGIC);
+                out.writeInt(FORMAT_VERSION);
+                out.writeLong(fingerprint);
+
+                writeStrings(out, catalog.roles());
+                writeStrings(out, catalog.experiences());
+                writeStrings(out, catalog.difficulties());
+                writeStrings(out, catalog.concepts());
+                writeStrings(out, catalog.questionText());
+                writeStrings(out, catalog.idealAnswer());
+                writeShorts(out, catalog.roleIds());
+                writeShorts(out, catalog.experienceIds());
+                writeShorts(out, catalog.difficultyIds());
+                writeInts(out, catalog.requiredOffsets());
+                writeInts(out, catalog.requiredIds());
+                writeInts(out, catalog.advancedOffsets());
+                writeInts(out, catalog.advancedIds());
+            }
+            Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } finally {
+            Files.deleteIfExists(tmp);
+        }
+    }
+
+    // ── Encoding ──────────────────────────────────────────────────────────────
+
+    private static void writeStrings(DataOutputStream out, String[] values) throws IOException {
+        out.writeInt(values.length);
+        for (String v : values) {
+            if (v == null) {
+                out.writeInt(-1);
+                continue;
+            }
+            byte[] bytes = v.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    private static void writeShorts(DataOutputStream out, short[] values) throws IOException {
+        out.writeInt(values.length);
+        for (short v : values) out.writeShort(v);
+    }
+
+    private static void writeInts(DataOutputStream out, int[] values) throws IOException {
+        out.writeInt(values.length);
+        for (int v : values) out.writeInt(v);
+    }
+
+    private static String[] readStrings(ByteBuffer buf) throws IOException {
+        String[] values = new String[length(buf, Integer.BYTES)];
+        for (int i = 0; i < values.length; i++) {
+            int len = buf.getInt();
+            if (len < 0) continue;
+            if (len > buf.remaining()) throw new IOException("String length " + len + " past end of snapshot");
+            byte[] bytes = new byte[len];
+            buf.get(bytes);
+            values[i] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return values;
+    }
+
+    private static short[] readShorts(ByteBuffer buf) throws IOException {
+        short[] values = new short[length(buf, Short.BYTES)];
+        buf.asShortBuffer().get(values);
+        buf.position(buf.position() + values.length * Short.BYTES);
+        return values;
+    }
+
+    private static int[] readInts(ByteBuffer buf) throws IOException {
+        int[] values = new int[length(buf, Integer.BYTES)];
+        buf.asIntBuffer().get(values);
+        buf.position(buf.position() + values.length * Integer.BYTES);
+        return values;
+    }
+
+    /** Reads an array length, rejecting one the rest of the file cannot hold before allocating. */
+    private static int length(ByteBuffer buf, int minBytesPerElement) throws IOException {
+        int length = buf.getInt();
+        if (length < 0 || (long) length * minBytesPerElement > buf.remaining()) {
+            throw new IOException("Array length " + length + " out of range in snapshot");
+        }
+        return length;
+    }
+}
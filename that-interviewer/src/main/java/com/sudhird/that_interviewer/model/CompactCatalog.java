@@ -0,0 +1,370 @@
+package com.sudhird.that_interviewer.model;
+
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
+import java.util.function.IntPredicate;
+
+/**
+ * Column-oriented, dictionary-encoded question catalog.
+ * <p>
+ * Roles, experience brackets, difficulties and concepts are interned into small
+ * dictionaries and referenced by id; concept lists are flattened into one {@code int[]}
+ * per kind with an offsets array (CSR layout). Question and ideal-answer text is held
+ * once. {@link Question} beans are only created as views when the API asks for one.
+ */
+public final class CompactCatalog {
+
+    public static final CompactCatalog EMPTY = from(List.of());
+
+    private static final short NONE = -1;   // null attribute
+
+    private final String[] roles;
+    private final String[] experiences;
+    private final String[] difficulties;
+    private final String[] concepts;
+
+    private final String[] questionText;
+    private final String[] idealAnswer;
+    private final short[] roleId;
+    private final short[] experienceId;
+    private final short[] difficultyId;
+
+    // Concepts of question i are ids[offsets[i] .. offsets[i + 1])
+    private final int[] requiredOffsets;
+    private final int[] requiredIds;
+    private final int[] advancedOffsets;
+    private final int[] advancedIds;
+
+    CompactCatalog(
+            String[] roles, String[] experiences, String[] difficulties, String[] concepts,
+            String[] questionText, String[] idealAnswer,
+            short[] roleId, short[] experienceId, short[] difficultyId,
+            int[] requiredOffsets, int[] requiredIds, int[] advancedOffsets, int[] advancedIds
+    ) {
+        this.roles = roles;
+        this.experiences = experiences;
+        this.difficulties = difficulties;
+        this.concepts = concepts;
+        this.questionText = questionText;
+        this.idealAnswer = idealAnswer;
+        this.roleId = roleId;
+        this.experienceId = experienceId;
+        this.difficultyId = difficultyId;
+        this.requiredOffsets = requiredOffsets;
+        this.requiredIds = requiredIds;
+        this.advancedOffsets = advancedOffsets;
+        this.advancedIds = advancedIds;
+    }
+
+    /** Encodes the parsed catalog; question ids are list positions. */
+    public static CompactCatalog from(List<Question> questions) {
+        Builder b = new Builder();
+        questions.forEach(b::add);
+        return b.build();
+    }
+
+    /**
+     * Concatenates catalogs in order. Columns are copied in bulk: only the dictionaries are
+     * merged, and each part's ids are remapped onto the merged ones, so no {@link Question}
+     * is materialized.
+     */
+    public static CompactCatalog concat(List<CompactCatalog> parts) {
+        if (parts.size() == 1) return parts.get(0);
+
+        int questions = 0;
+        int required = 0;
+        int advanced = 0;
+        for (CompactCatalog part : parts) {
+            questions += part.size();
+            required += part.requiredIds.length;
+            advanced += part.advancedIds.length;
+        }
+
+        Dictionary roles = new Dictionary();
+        Dictionary experiences = new Dictionary();
+        Dictionary difficulties = new Dictionary();
+        Dictionary concepts = new Dictionary();
+
+        String[] questionText = new String[questions];
+        String[] idealAnswer = new String[questions];
+        short[] roleId = new short[questions];
+        short[] experienceId = new short[questions];
+        short[] difficultyId = new short[questions];
+        int[] requiredOffsets = new int[questions + 1];
+        int[] requiredIds = new int[required];
+        int[] advancedOffsets = new int[questions + 1];
+        int[] advancedIds = new int[advanced];
+
+        int at = 0;
+        for (CompactCatalog part : parts) {
+            int n = part.size();
+            System.arraycopy(part.questionText, 0, questionText, at, n);
+            System.arraycopy(part.idealAnswer, 0, idealAnswer, at, n);
+            remap(part.roleId, roles.shortIds(part.roles), roleId, at);
+            remap(part.experienceId, experiences.shortIds(part.experiences), experienceId, at);
+            remap(part.difficultyId, difficulties.shortIds(part.difficulties), difficultyId, at);
+
+            int[] conceptIds = concepts.ids(part.concepts);
+            remap(part.requiredOffsets, part.requiredIds, conceptIds, requiredOffsets, requiredIds, at);
+            remap(part.advancedOffsets, part.advancedIds, conceptIds, advancedOffsets, advancedIds, at);
+            at += n;
+        }
+
+        return new CompactCatalog(
+                roles.values(), experiences.values(), difficulties.values(), concepts.values(),
+                questionText, idealAnswer, roleId, experienceId, difficultyId,
+                requiredOffsets, requiredIds, advancedOffsets, advancedIds
+        );
+    }
+
+    private static void remap(short[] ids, short[] mapping, short[] out, int at) {
+        for (int i = 0; i < ids.length; i++) {
+            out[at + i] = ids[i] == NONE ? NONE : mapping[ids[i]];
+        }
+    }
+
+    /** Appends one part's concept lists from question {@code at}, shifting its offsets past the lists already copied. */
+    private static void remap(int[] offsets, int[] ids, int[] mapping, int[] outOffsets, int[] outIds, int at) {
+        int base = outOffsets[at];
+        for (int i = 0; i < ids.length; i++) {
+            outIds[base + i] = mapping[ids[i]];
+        }
+        for (int i = 1; i < offsets.length; i++) {
+            outOffsets[at + i] = base + offsets[i];
+        }
+    }
+
+    public static Builder builder() {
+        return new Builder();
+    }
+
+    public int size() {
+        return questionText.length;
+    }
+
+    /** Materializes the API view of question {@code id}. */
+    public Question question(int id) {
+        Question q = new Question();
+        q.setId(id);
+        q.setQuestion(questionText[id]);
+        q.setIdealAnswer(idealAnswer[id]);
+        q.setRequiredConcepts(conceptList(requiredOffsets, requiredIds, id));
+        q.setAdvancedConcepts(conceptList(advancedOffsets, advancedIds, id));
+        q.setDifficulty(lookup(difficulties, difficultyId[id]));
+        q.setExperience(lookup(experiences, experienceId[id]));
+        q.setRole(lookup(roles, roleId[id]));
+        return q;
+    }
+
+    /** Read-only list view; elements are materialized on access. */
+    public List<Question> asList() {
+        return new QuestionView();
+    }
+
+    /**
+     * Ids of questions matching role and experience (case-insensitive).
+     * A null or blank filter matches everything; an unknown value matches nothing.
+     */
+    public List<Integer> findIds(String role, String experience) {
+        IntPredicate filter = filter(role, experience);
+        List<Integer> ids = new ArrayList<>();
+        for (int i = 0; i < questionText.length; i++) {
+            if (filter.test(i)) ids.add(i);
+        }
+        return ids;
+    }
+
+    /** Same matching rules as {@link #findIds}, as a predicate over question ids. */
+    public IntPredicate filter(String role, String experience) {
+        boolean[] r = matching(roles, role);
+        boolean[] e = matching(experiences, experience);
+        if (r == null && e == null) return id -> true;
+        return id -> matches(r, roleId[id]) && matches(e, experienceId[id]);
+    }
+
+    public int distinctRoles()       { return roles.length; }
+    public int distinctExperiences() { return experiences.length; }
+    public int distinctConcepts()    { return concepts.length; }
+
+    // ── Raw columns, for CatalogSnapshot ─────────────────────────────────────
+
+    String[] roles()           { return roles; }
+    String[] experiences()     { return experiences; }
+    String[] difficulties()    { return difficulties; }
+    String[] concepts()        { return concepts; }
+    String[] questionText()    { return questionText; }
+    String[] idealAnswer()     { return idealAnswer; }
+    short[] roleIds()          { return roleId; }
+    short[] experienceIds()    { return experienceId; }
+    short[] difficultyIds()    { return difficultyId; }
+    int[] requiredOffsets()    { return requiredOffsets; }
+    int[] requiredIds()        { return requiredIds; }
+    int[] advancedOffsets()    { return advancedOffsets; }
+    int[] advancedIds()        { return advancedIds; }
+
+    /**
+     * Dictionary ids equal to {@code value} ignoring case — the dictionary itself is
+     * case-sensitive, so "Backend" and "backend" are separate entries that both match.
+     * Null for a blank filter, which matches everything.
+     */
+    private static boolean[] matching(String[] dictionary, String value) {
+        if (value == null || value.isBlank()) return null;
+        boolean[] match = new boolean[dictionary.length];
+        for (int i = 0; i < dictionary.length; i++) {
+            match[i] = value.equalsIgnoreCase(dictionary[i]);
+        }
+        return match;
+    }
+
+    private static boolean matches(boolean[] match, short id) {
+        return match == null || (id != NONE && match[id]);
+    }
+
+    private List<String> conceptList(int[] offsets, int[] ids, int questionId) {
+        int from = offsets[questionId];
+        int to = offsets[questionId + 1];
+        String[] out = new String[to - from];
+        for (int i = from; i < to; i++) {
+            out[i - from] = concepts[ids[i]];
+        }
+        return List.of(out);
+    }
+
+    private static String lookup(String[] dictionary, short id) {
+        return id == NONE ? null : dictionary[id];
+    }
+
+    private final class QuestionView extends AbstractList<Question> implements RandomAccess {
+        @Override
+        public Question get(int index) {
+            return question(index);
+        }
+
+        @Override
+        public int size() {
+            return CompactCatalog.this.size();
+        }
+    }
+
+    // ── Building ──────────────────────────────────────────────────────────────
+
+    /** Accumulates questions one at a time, so a streaming parser never holds the whole list. */
+    public static final class Builder {
+        private final Dictionary roles = new Dictionary();
+        private final Dictionary experiences = new Dictionary();
+        private final Dictionary difficulties = new Dictionary();
+        private final Dictionary concepts = new Dictionary();
+
+        private final List<String> questionText = new ArrayList<>();
+        private final List<String> idealAnswer = new ArrayList<>();
+        private final IntList roleId = new IntList();
+        private final IntList experienceId = new IntList();
+        private final IntList difficultyId = new IntList();
+        private final IntList requiredOffsets = new IntList();
+        private final IntList requiredIds = new IntList();
+        private final IntList advancedOffsets = new IntList();
+        private final IntList advancedIds = new IntList();
+
+        private Builder() {
+            requiredOffsets.add(0);
+            advancedOffsets.add(0);
+        }
+
+        public Builder add(Question q) {
+            questionText.add(q.getQuestion());
+            idealAnswer.add(q.getIdealAnswer());
+            roleId.add(roles.shortId(q.getRole()));
+            experienceId.add(experiences.shortId(q.getExperience()));
+            difficultyId.add(difficulties.shortId(q.getDifficulty()));
+            appendConcepts(q.getRequiredConcepts(), requiredIds, requiredOffsets);
+            appendConcepts(q.getAdvancedConcepts(), advancedIds, advancedOffsets);
+            return this;
+        }
+
+        public CompactCatalog build() {
+            return new CompactCatalog(
+                    roles.values(), experiences.values(), difficulties.values(), concepts.values(),
+                    questionText.toArray(String[]::new), idealAnswer.toArray(String[]::new),
+                    roleId.toShortArray(), experienceId.toShortArray(), difficultyId.toShortArray(),
+                    requiredOffsets.toArray(), requiredIds.toArray(),
+                    advancedOffsets.toArray(), advancedIds.toArray()
+            );
+        }
+
+        private void appendConcepts(List<String> values, IntList ids, IntList offsets) {
+            if (values != null) {
+                for (String c : values) {
+                    if (c != null) ids.add(concepts.id(c));
+                }
+            }
+            offsets.add(ids.size());
+        }
+    }
+
+    private static final class Dictionary {
+        private final Map<String, Integer> index = new HashMap<>();
+        private final List<String> values = new ArrayList<>();
+
+        int id(String value) {
+            return index.computeIfAbsent(value, v -> {
+                values.add(v);
+                return values.size() - 1;
+            });
+        }
+
+        short shortId(String value) {
+            if (value == null) return NONE;
+            int id = id(value);
+            if (id > Short.MAX_VALUE) {
+                throw new IllegalStateException("Too many distinct values for dictionary: " + value);
+            }
+            return (short) id;
+        }
+
+        /** Interns every entry of another dictionary; element i is the id of {@code entries[i]}. */
+        int[] ids(String[] entries) {
+            int[] out = new int[entries.length];
+            for (int i = 0; i < entries.length; i++) out[i] = id(entries[i]);
+            return out;
+        }
+
+        short[] shortIds(String[] entries) {
+            short[] out = new short[entries.length];
+            for (int i = 0; i < entries.length; i++) out[i] = shortId(entries[i]);
+            return out;
+        }
+
+        String[] values() {
+            return values.toArray(String[]::new);
+        }
+    }
+
+    private static final class IntList {
+        private int[] data = new int[16];
+        private int size;
+
+        void add(int value) {
+            if (size == data.length) data = Arrays.copyOf(data, size * 2);
+            data[size++] = value;
+        }
+
+        int size() {
+            return size;
+        }
+
+        int[] toArray() {
+            return Arrays.copyOf(data, size);
+        }
+
+        short[] toShortArray() {
+            short[] out = new short[size];
+            for (int i = 0; i < size; i++) out[i] = (short) data[i];
+            return out;
+        }
+    }
+}
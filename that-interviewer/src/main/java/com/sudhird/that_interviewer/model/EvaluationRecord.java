@@ -59,6 +59,9 @@ public class EvaluationRecord {
     @Column(name = "embedding_used")
     private Boolean embeddingUsed;
 
+    @Column(name = "scoring_version")
+    private String scoringVersion;
+
     @Column(name = "submitted_at", nullable = false, updatable = false)
     private Instant submittedAt;
 
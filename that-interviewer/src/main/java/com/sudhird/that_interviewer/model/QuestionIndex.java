@@ -0,0 +1,261 @@
+package com.sudhird.that_interviewer.model;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.function.IntPredicate;
+
+/**
+ * Inverted index over question text and concepts, built once per catalog load.
+ * <p>
+ * Each term maps to parallel {@code int[]} question ids and {@code float[]} field-boosted
+ * term weights (required concepts count most, then advanced concepts, then question text).
+ * Queries score with a BM25-style saturated tf times idf, accumulated in pooled dense
+ * scratch arrays, and only the requested page is ranked: a bounded heap keeps the best
+ * {@code offset + limit} hits while the rest are just counted.
+ */
+public final class QuestionIndex {
+
+    private static final float TEXT_BOOST = 1.0f;
+    private static final float ADVANCED_BOOST = 2.0f;
+    private static final float REQUIRED_BOOST = 3.0f;
+    private static final float SATURATION = 1.2f;
+
+    private static final Set<String> STOPWORDS = Set.of(
+            "a", "an", "and", "are", "as", "at", "be", "by", "do", "does", "for", "from", "how", "in",
+            "is", "it", "of", "on", "or", "the", "to", "vs", "what", "when", "which", "why", "with", "you", "your"
+    );
+
+    public static final QuestionIndex EMPTY = build(CompactCatalog.EMPTY);
+
+    private final int size;
+    private final Map<String, Postings> postings;
+    // Borrowed per query; the pool grows to the peak number of concurrent searches
+    private final Queue<Scratch> scratchPool = new ConcurrentLinkedQueue<>();
+
+    private QuestionIndex(int size, Map<String, Postings> postings) {
+        this.size = size;
+        this.postings = postings;
+    }
+
+    /** Builds straight from the catalog's columns; no {@link Question} views are materialized. */
+    public static QuestionIndex build(CompactCatalog catalog) {
+        String[] text = catalog.questionText();
+        int[] requiredOffsets = catalog.requiredOffsets();
+        int[] requiredIds = catalog.requiredIds();
+        int[] advancedOffsets = catalog.advancedOffsets();
+        int[] advancedIds = catalog.advancedIds();
+
+        // Concepts repeat across questions, so each dictionary entry is tokenized once
+        String[] concepts = catalog.concepts();
+        List<List<String>> conceptTokens = new ArrayList<>(concepts.length);
+        for (String concept : concepts) conceptTokens.add(tokenize(concept));
+
+        Map<String, PostingsBuilder> builders = new HashMap<>();
+        Map<String, Float> termWeights = new HashMap<>();
+
+        for (int id = 0; id < text.length; id++) {
+            termWeights.clear();
+            addTokens(termWeights, tokenize(text[id]), TEXT_BOOST);
+            for (int i = requiredOffsets[id]; i < requiredOffsets[id + 1]; i++) {
+                addTokens(termWeights, conceptTokens.get(requiredIds[i]), REQUIRED_BOOST);
+            }
+            for (int i = advancedOffsets[id]; i < advancedOffsets[id + 1]; i++) {
+                addTokens(termWeights, conceptTokens.get(advancedIds[i]), ADVANCED_BOOST);
+            }
+
+            // Ids are visited in order, so every postings list ends up sorted by id
+            int docId = id;
+            termWeights.forEach((term, weight) ->
+                    builders.computeIfAbsent(term, t -> new PostingsBuilder()).add(docId, weight));
+        }
+
+        Map<String, Postings> postings = new HashMap<>(builders.size() * 2);
+        builders.forEach((term, b) -> postings.put(term, b.build()));
+        return new QuestionIndex(text.length, postings);
+    }
+
+    public int terms() {
+        return postings.size();
+    }
+
+    /**
+     * Hits {@code [offset, offset + limit)} of the ranking, best first (ties by id), and the
+     * total number of matches. Empty for a query with no indexable terms.
+     */
+    public Result search(String query, IntPredicate filter, int offset, int limit) {
+        Set<String> terms = new LinkedHashSet<>(tokenize(query));
+        if (terms.isEmpty() || size == 0 || offset < 0 || limit <= 0) return new Result(0, List.of());
+
+        Scratch scratch = borrowScratch();
+        try {
+            float[] scores = scratch.scores;
+            int[] touched = scratch.touched;
+            int touchedCount = 0;
+
+            for (String term : terms) {
+                Postings p = postings.get(term);
+                if (p == null) continue;
+                float idf = (float) Math.log(1.0 + (size - p.ids.length + 0.5) / (p.ids.length + 0.5));
+                for (int i = 0; i < p.ids.length; i++) {
+                    int id = p.ids[i];
+                    if (scores[id] == 0f) touched[touchedCount++] = id;
+                    float tf = p.weights[i];
+                    scores[id] += idf * (tf * (SATURATION + 1)) / (tf + SATURATION);
+                }
+            }
+
+            TopHits top = new TopHits((int) Math.min((long) offset + limit, touchedCount));
+            int total = 0;
+            for (int i = 0; i < touchedCount; i++) {
+                int id = touched[i];
+                float score = scores[id];
+                scores[id] = 0f;   // leave the scratch clean for the next query
+                if (!filter.test(id)) continue;
+                total++;
+                top.offer(id, score);
+            }
+            return new Result(total, top.page(offset));
+        } finally {
+            scratchPool.offer(scratch);
+        }
+    }
+
+    public record Hit(int id, double score) {}
+
+    public record Result(int totalHits, List<Hit> hits) {}
+
+    private Scratch borrowScratch() {
+        Scratch s = scratchPool.poll();
+        return s != null ? s : new Scratch(size);
+    }
+
+    // ── Tokenizing ────────────────────────────────────────────────────────────
+
+    static List<String> tokenize(String text) {
+        if (text == null || text.isBlank()) return List.of();
+        List<String> tokens = new ArrayList<>();
+        for (String raw : text.toLowerCase().split("[^\\p{Alnum}]+")) {
+            if (raw.length() < 2 || STOPWORDS.contains(raw)) continue;
+            tokens.add(raw);
+        }
+        return tokens;
+    }
+
+    private static void addTokens(Map<String, Float> termWeights, List<String> tokens, float boost) {
+        for (String token : tokens) {
+            termWeights.merge(token, boost, Float::sum);
+        }
+    }
+
+    private record Postings(int[] ids, float[] weights) {}
+
+    private static final class Scratch {
+        final float[] scores;
+        final int[] touched;
+
+        Scratch(int size) {
+            scores = new float[size];
+            touched = new int[size];
+        }
+    }
+
+    /** Bounded min-heap of the best {@code capacity} hits; the root is the worst one kept. */
+    private static final class TopHits {
+        private final int[] ids;
+        private final float[] scores;
+        private int count;
+
+        TopHits(int capacity) {
+            ids = new int[capacity];
+            scores = new float[capacity];
+        }
+
+        void offer(int id, float score) {
+            if (ids.length == 0) return;
+            if (count < ids.length) {
+                ids[count] = id;
+                scores[count] = score;
+                siftUp(count++);
+            } else if (better(id, score, ids[0], scores[0])) {
+                ids[0] = id;
+                scores[0] = score;
+                siftDown(0);
+            }
+        }
+
+        /** Drains the heap worst-first into a best-first list and returns it from {@code offset}. */
+        List<Hit> page(int offset) {
+            Hit[] ranked = new Hit[count];
+            for (int i = count - 1; i >= 0; i--) {
+                ranked[i] = new Hit(ids[0], scores[0]);
+                ids[0] = ids[i];
+                scores[0] = scores[i];
+                count = i;
+                siftDown(0);
+            }
+            return offset >= ranked.length ? List.of() : Arrays.asList(ranked).subList(offset, ranked.length);
+        }
+
+        private static boolean better(int idA, float scoreA, int idB, float scoreB) {
+            return scoreA != scoreB ? scoreA > scoreB : idA < idB;
+        }
+
+        private void siftUp(int i) {
+            while (i > 0) {
+                int parent = (i - 1) / 2;
+                if (!better(ids[parent], scores[parent], ids[i], scores[i])) break;
+                swap(i, parent);
+                i = parent;
+            }
+        }
+
+        private void siftDown(int i) {
+            while (true) {
+                int worst = i;
+                int left = 2 * i + 1;
+                int right = left + 1;
+                if (left < count && better(ids[worst], scores[worst], ids[left], scores[left])) worst = left;
+                if (right < count && better(ids[worst], scores[worst], ids[right], scores[right])) worst = right;
+                if (worst == i) return;
+                swap(i, worst);
+                i = worst;
+            }
+        }
+
+        private void swap(int a, int b) {
+            int id = ids[a];
+            ids[a] = ids[b];
+            ids[b] = id;
+            float score = scores[a];
+            scores[a] = scores[b];
+            scores[b] = score;
+        }
+    }
+
+    private static final class PostingsBuilder {
+        private int[] ids = new int[4];
+        private float[] weights = new float[4];
+        private int size;
+
+        void add(int id, float weight) {
+            if (size == ids.length) {
+                ids = Arrays.copyOf(ids, size * 2);
+                weights = Arrays.copyOf(weights, size * 2);
+            }
+            ids[size] = id;
+            weights[size] = weight;
+            size++;
+        }
+
+        Postings build() {
+            return new Postings(Arrays.copyOf(ids, size), Arrays.copyOf(weights, size));
+        }
+    }
+}
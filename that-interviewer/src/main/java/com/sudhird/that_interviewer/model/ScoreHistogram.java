@@ -0,0 +1,89 @@
+package com.sudhird.that_interviewer.model;
+
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Mergeable score distribution for percentile ranks.
+ * <p>
+ * Scores are rounded to two decimals in [0, 1] before they are stored, so a fixed
+ * 101-bin histogram is an exact sketch: O(1) lock-free updates, constant size per key,
+ * and bin-wise addition as the merge.
+ */
+public final class ScoreHistogram {
+
+    public static final int BINS = 101;
+
+    private final AtomicLongArray counts = new AtomicLongArray(BINS);
+
+    public void record(double score) {
+        counts.incrementAndGet(bin(score));
+    }
+
+    public void merge(ScoreHistogram other) {
+        for (int i = 0; i < BINS; i++) {
+            long c = other.counts.get(i);
+            if (c != 0) counts.addAndGet(i, c);
+        }
+    }
+
+    public long count() {
+        long total = 0;
+        for (int i = 0; i < BINS; i++) total += counts.get(i);
+        return total;
+    }
+
+    /**
+     * Percentage (0–100, one decimal) of recorded scores strictly below {@code score},
+     * i.e. "better than X%". Empty when nothing has been recorded.
+     */
+    public Optional<Double> percentileRank(double score) {
+        int bin = bin(score);
+        long below = 0;
+        long total = 0;
+        for (int i = 0; i < BINS; i++) {
+            long c = counts.get(i);
+            if (i < bin) below += c;
+            total += c;
+        }
+        if (total == 0) return Optional.empty();
+        return Optional.of(Math.round(below * 1000.0 / total) / 10.0);
+    }
+
+    /**
+     * Like {@link #percentileRank} for a score that is itself recorded here: one occurrence
+     * of it is left out, so it is ranked against the others only. Empty when it is the only one.
+     */
+    public Optional<Double> percentileRankAmongOthers(double score) {
+        int bin = bin(score);
+        if (counts.get(bin) == 0) return percentileRank(score);
+        long below = 0;
+        long total = -1;
+        for (int i = 0; i < BINS; i++) {
+            long c = counts.get(i);
+            if (i < bin) below += c;
+            total += c;
+        }
+        if (total <= 0) return Optional.empty();
+        return Optional.of(Math.round(below * 1000.0 / total) / 10.0);
+    }
+
+    public long[] toArray() {
+        long[] out = new long[BINS];
+        for (int i = 0; i < BINS; i++) out[i] = counts.get(i);
+        return out;
+    }
+
+    public static ScoreHistogram of(long[] binCounts) {
+        ScoreHistogram h = new ScoreHistogram();
+        for (int i = 0; i < Math.min(BINS, binCounts.length); i++) {
+            if (binCounts[i] != 0) h.counts.set(i, binCounts[i]);
+        }
+        return h;
+    }
+
+    private static int bin(double score) {
+        long b = Math.round(score * 100.0);
+        return (int) Math.max(0, Math.min(BINS - 1, b));
+    }
+}
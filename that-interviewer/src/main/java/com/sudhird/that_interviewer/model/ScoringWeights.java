@@ -0,0 +1,76 @@
+package com.sudhird.that_interviewer.model;
+
+import java.util.Map;
+
+/**
+ * A versioned set of weights used to combine similarity and keyword signals.
+ * Every evaluation records the version it was scored with so a bulk re-score
+ * can tell which rows are stale. Named sets are configured under {@code scoring.weight-sets}.
+ * <p>
+ * Combining is a weighted mean over the signals that are actually present, so when a
+ * scorer is unavailable or misses its deadline the remaining weights are renormalized.
+ * The one exception is {@link KeywordOnly#REQUIRED}, which keeps v1's original fallback.
+ */
+public record ScoringWeights(
+        String version,
+        double similarity,
+        double required,
+        double advanced,
+        KeywordOnly keywordOnly
+) {
+    public static final String SIMILARITY = "similarity";
+    public static final String REQUIRED = "required";
+    public static final String ADVANCED = "advanced";
+
+    /** How to score an answer when the similarity signal is missing. */
+    public enum KeywordOnly {
+        /** requiredScore alone — the Phase 2 fallback that v1 rows were scored with. */
+        REQUIRED,
+        /** Renormalize over the keyword weights, e.g. required*0.75 + advanced*0.25. */
+        RENORMALIZE
+    }
+
+    public ScoringWeights {
+        if (keywordOnly == null) keywordOnly = KeywordOnly.RENORMALIZE;
+        if (version == null || version.isBlank()) {
+            throw new IllegalArgumentException("Weight set needs a version name");
+        }
+        for (double w : new double[] { similarity, required, advanced }) {
+            if (!(w >= 0.0) || Double.isInfinite(w)) {
+                throw new IllegalArgumentException("Weights of '" + version + "' must be finite and >= 0");
+            }
+        }
+        if (similarity + required + advanced <= 0.0) {
+            throw new IllegalArgumentException("Weights of '" + version + "' must not all be zero");
+        }
+    }
+
+    /** Weight for a named signal; signals this set does not know about get no weight. */
+    public double weightOf(String signal) {
+        return switch (signal) {
+            case SIMILARITY -> similarity;
+            case REQUIRED -> required;
+            case ADVANCED -> advanced;
+            default -> 0.0;
+        };
+    }
+
+    /**
+     * Weighted mean of the present signals, e.g. all three: sim*0.6 + required*0.3 + advanced*0.1;
+     * keyword-only: required*0.75 + advanced*0.25, or required alone under {@link KeywordOnly#REQUIRED}.
+     */
+    public double combine(Map<String, Double> signals) {
+        if (keywordOnly == KeywordOnly.REQUIRED && signals.get(SIMILARITY) == null) {
+            return signals.getOrDefault(REQUIRED, 0.0);
+        }
+        double weighted = 0.0;
+        double totalWeight = 0.0;
+        for (Map.Entry<String, Double> e : signals.entrySet()) {
+            if (e.getValue() == null) continue;
+            double w = weightOf(e.getKey());
+            weighted += w * e.getValue();
+            totalWeight += w;
+        }
+        return totalWeight == 0.0 ? 0.0 : weighted / totalWeight;
+    }
+}
@@ -0,0 +1,41 @@
+package com.sudhird.that_interviewer.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Persisted interview session. The question count is what completes a session for the
+ * percentile sketches, so it has to be readable when they are rebuilt from the database.
+ */
+@Entity
+@Table(name = "interview_sessions")
+@Getter
+@Setter
+@NoArgsConstructor
+public class SessionRecord {
+
+    @Id
+    @Column(name = "session_id", nullable = false, updatable = false)
+    private String sessionId;
+
+    @Column(name = "role")
+    private String role;
+
+    @Column(name = "experience")
+    private String experience;
+
+    @Column(name = "question_count", nullable = false, updatable = false)
+    private Integer questionCount;
+
+    @Column(name = "started_at", nullable = false, updatable = false)
+    private Instant startedAt;
+
+    @PrePersist
+    protected void onCreate() {
+        this.startedAt = Instant.now();
+    }
+}
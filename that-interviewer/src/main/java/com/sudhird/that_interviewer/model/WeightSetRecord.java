@@ -0,0 +1,59 @@
+package com.sudhird.that_interviewer.model;
+
+import jakarta.persistence.*;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+
+import java.time.Instant;
+
+/**
+ * Persisted custom weight set, registered by a re-scoring job. Rows scored with it keep
+ * its version name in {@code scoring_version}, so the numbers must outlive the process.
+ */
+@Entity
+@Table(name = "weight_sets")
+@Getter
+@Setter
+@NoArgsConstructor
+public class WeightSetRecord {
+
+    @Id
+    @Column(name = "scoring_version", nullable = false, updatable = false)
+    private String version;
+
+    @Column(name = "similarity", nullable = false, updatable = false)
+    private Double similarity;
+
+    @Column(name = "required", nullable = false, updatable = false)
+    private Double required;
+
+    @Column(name = "advanced", nullable = false, updatable = false)
+    private Double advanced;
+
+    @Enumerated(EnumType.STRING)
+    @Column(name = "keyword_only", nullable = false, updatable = false)
+    private ScoringWeights.KeywordOnly keywordOnly;
+
+    @Column(name = "created_at", nullable = false, updatable = false)
+    private Instant createdAt;
+
+    public static WeightSetRecord of(ScoringWeights weights) {
+        WeightSetRecord r = new WeightSetRecord();
+        r.setVersion(weights.version());
+        r.setSimilarity(weights.similarity());
+        r.setRequired(weights.required());
+        r.setAdvanced(weights.advanced());
+        r.setKeywordOnly(weights.keywordOnly());
+        return r;
+    }
+
+    public ScoringWeights toWeights() {
+        return new ScoringWeights(version, similarity, required, advanced, keywordOnly);
+    }
+
+    @PrePersist
+    protected void onCreate() {
+        this.createdAt = Instant.now();
+    }
+}
@@ -1,9 +1,12 @@
 package com.sudhird.that_interviewer.repository;
 
 import com.sudhird.that_interviewer.model.EvaluationRecord;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Slice;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.time.Instant;
 import java.util.List;
 
 @Repository
@@ -14,4 +17,14 @@ public interface EvaluationRecordRepository extends JpaRepository<EvaluationReco
 
     List<EvaluationRecord> findBySessionId(String sessionId);
     List<EvaluationRecord> findByExperience(String experience);
+
+    // Keyset paging for bulk jobs — stable under concurrent inserts and resumable by id
+    Slice<EvaluationRecord> findByIdGreaterThanOrderByIdAsc(Long id, Pageable pageable);
+
+    Slice<EvaluationRecord> findByIdBetweenOrderByIdAsc(Long from, Long to, Pageable pageable);
+
+    boolean existsByScoringVersion(String scoringVersion);
+
+    // Archive candidates, oldest ids first
+    Slice<EvaluationRecord> findBySubmittedAtBeforeOrderByIdAsc(Instant cutoff, Pageable pageable);
 }
@@ -0,0 +1,9 @@
+package com.sudhird.that_interviewer.repository;
+
+import com.sudhird.that_interviewer.model.SessionRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface SessionRecordRepository extends JpaRepository<SessionRecord, String> {
+}
@@ -0,0 +1,9 @@
+package com.sudhird.that_interviewer.repository;
+
+import com.sudhird.that_interviewer.model.WeightSetRecord;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface WeightSetRepository extends JpaRepository<WeightSetRecord, String> {
+}
@@ -0,0 +1,294 @@
+package com.sudhird.that_interviewer.service;
+
+import com.sudhird.that_interviewer.model.ArchiveSegment;
+import com.sudhird.that_interviewer.model.EvaluationRecord;
+import com.sudhird.that_interviewer.repository.EvaluationRecordRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.stream.Stream;
+
+/**
+ * Cold tier for old evaluations.
+ * <p>
+ * A background task moves rows older than {@code archive.max-age-days} out of the live table
+ * into compressed, column-oriented {@link ArchiveSegment} files, one segment per batch. The
+ * segment is written (atomically) before the rows are deleted, and rows that turn out to be
+ * archived already are only deleted, so a crash in between never loses or duplicates data.
+ * Lookups by id or session fall through to the segments when the live table misses.
+ * <p>
+ * Segments are keyed by the live table's ids, so they are only usable against the database
+ * that issued them. An archive from another database (an in-memory database that restarted,
+ * or a restored backup) is detached: new rows would otherwise reuse archived ids and be
+ * deleted as "already archived", and lookups would return the old rows. It is recognized at
+ * startup by a live row that shares an id with an archived row but not its content, or — when
+ * no live row overlaps, e.g. everything was archived — by the first id the live table issues
+ * afterwards, since a database that kept its sequence never issues an archived id again.
+ * <p>
+ * Bulk maintenance such as re-scoring runs through {@link #runExclusively}, which keeps the
+ * archiver from moving rows out from under it; an archiver run that finds the lock held is
+ * skipped until the next interval.
+ */
+@Slf4j
+@Service
+public class ArchiveService {
+
+    private static final String SEGMENT_SUFFIX = ".tias";
+    // Live rows per segment compared with their archived copies at startup
+    private static final int OVERLAP_PROBE = 100;
+
+    private final EvaluationRecordRepository repository;
+    private volatile boolean enabled;
+    private final Path directory;
+    private final Duration maxAge;
+    private final int batchSize;
+    private final long intervalMinutes;
+
+    private final List<ArchiveSegment> segments = new CopyOnWriteArrayList<>();
+    private final ReentrantLock maintenance = new ReentrantLock();
+
+    private final ScheduledExecutorService archiver = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "evaluation-archiver");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public ArchiveService(
+            EvaluationRecordRepository repository,
+            @Value("${archive.enabled:true}") boolean enabled,
+            @Value("${archive.directory:}") String directory,
+            @Value("${archive.max-age-days:90}") long maxAgeDays,
+            @Value("${archive.batch-size:10000}") int batchSize,
+            @Value("${archive.interval-minutes:60}") long intervalMinutes
+    ) {
+        this.repository = repository;
+        this.directory = directory.isBlank() ? null : Path.of(directory);
+        this.enabled = enabled && this.directory != null;
+        this.maxAge = Duration.ofDays(maxAgeDays);
+        this.batchSize = Math.max(1, batchSize);
+        this.intervalMinutes = intervalMinutes;
+    }
+
+    @PostConstruct
+    public void init() {
+        if (directory == null) return;
+
+        if (Files.isDirectory(directory)) {
+            try (Stream<Path> files = Files.list(directory)) {
+                files.filter(p -> p.getFileName().toString().endsWith(SEGMENT_SUFFIX))
+                        .sorted()
+                        .forEach(this::openSegment);
+            } catch (IOException e) {
+                log.warn("Failed to list archive directory {}: {}", directory, e.getMessage());
+            }
+        }
+        log.info("Opened {} archive segment(s) holding {} evaluations from {}",
+                segments.size(), segments.stream().mapToLong(ArchiveSegment::rows).sum(), directory);
+
+        Optional<Long> foreignId = firstForeignId();
+        if (foreignId.isPresent()) {
+            detach("live evaluation id=" + foreignId.get() + " differs from the archived one");
+            return;
+        }
+
+        if (enabled && intervalMinutes > 0) {
+            archiver.scheduleWithFixedDelay(this::archiveSafely, intervalMinutes, intervalMinutes, TimeUnit.MINUTES);
+        }
+    }
+
+    /** Moves every evaluation older than the cutoff into segments, one batch at a time. */
+    public int archiveOnce() throws IOException {
+        if (!enabled) return 0;
+        if (!maintenance.tryLock()) {
+            log.info("Archiving skipped: maintenance on the evaluations is in progress");
+            return 0;
+        }
+        try {
+            return archiveBatches();
+        } finally {
+            maintenance.unlock();
+        }
+    }
+
+    private int archiveBatches() throws IOException {
+        Instant cutoff = Instant.now().minus(maxAge);
+        int archived = 0;
+        while (true) {
+            Slice<EvaluationRecord> slice =
+                    repository.findBySubmittedAtBeforeOrderByIdAsc(cutoff, PageRequest.of(0, batchSize));
+            List<EvaluationRecord> batch = slice.getContent();
+            if (batch.isEmpty()) break;
+
+            // Rows already in a segment (crash between write and delete) only need deleting
+            List<EvaluationRecord> fresh = new ArrayList<>(batch.size());
+            for (EvaluationRecord r : batch) {
+                Optional<EvaluationRecord> existing = findById(r.getId());
+                if (existing.isEmpty()) {
+                    fresh.add(r);
+                } else if (!isSameEvaluation(existing.get(), r)) {
+                    enabled = false;
+                    throw new IllegalStateException("Evaluation id=" + r.getId()
+                            + " is archived with different content; archiving stopped to avoid deleting it");
+                }
+            }
+            if (!fresh.isEmpty()) {
+                Path file = directory.resolve(String.format("segment-%019d-%019d%s",
+                        fresh.get(0).getId(), fresh.get(fresh.size() - 1).getId(), SEGMENT_SUFFIX));
+                segments.add(ArchiveSegment.write(file, fresh));
+                archived += fresh.size();
+            }
+            repository.deleteAllByIdInBatch(batch.stream().map(EvaluationRecord::getId).toList());
+
+            if (!slice.hasNext()) break;
+        }
+
+        if (archived > 0) {
+            log.info("Archived {} evaluations submitted before {} to {}", archived, cutoff, directory);
+        }
+        return archived;
+    }
+
+    /** Runs {@code task} with the archiver paused, waiting for a running archive pass to finish. */
+    public void runExclusively(Exclusive task) throws Exception {
+        maintenance.lockInterruptibly();
+        try {
+            task.run();
+        } finally {
+            maintenance.unlock();
+        }
+    }
+
+    /**
+     * Passes each segment's rows to {@code updater}, which changes rows in place and returns the
+     * ones it changed, and atomically rewrites every segment with changes. Only valid inside
+     * {@link #runExclusively}. Returns the number of rows rewritten.
+     */
+    public long rewriteSegments(RowUpdater updater) throws Exception {
+        if (!maintenance.isHeldByCurrentThread()) {
+            throw new IllegalStateException("Segments can only be rewritten inside runExclusively");
+        }
+        long rewritten = 0;
+        for (int i = 0; i < segments.size(); i++) {
+            ArchiveSegment segment = segments.get(i);
+            List<EvaluationRecord> rows = segment.readAll();
+            int changed = updater.update(rows).size();
+            if (changed == 0) continue;
+            segments.set(i, ArchiveSegment.write(segment.path(), rows));
+            rewritten += changed;
+        }
+        return rewritten;
+    }
+
+    @FunctionalInterface
+    public interface Exclusive {
+        void run() throws Exception;
+    }
+
+    @FunctionalInterface
+    public interface RowUpdater {
+        List<EvaluationRecord> update(List<EvaluationRecord> rows) throws Exception;
+    }
+
+    public Optional<EvaluationRecord> findById(long id) {
+        for (ArchiveSegment segment : segments) {
+            if (id < segment.minId() || id > segment.maxId()) continue;
+            Optional<EvaluationRecord> found = segment.findById(id);
+            if (found.isPresent()) return found;
+        }
+        return Optional.empty();
+    }
+
+    public List<EvaluationRecord> findBySessionId(String sessionId) {
+        if (sessionId == null) return List.of();
+        List<EvaluationRecord> out = new ArrayList<>();
+        for (ArchiveSegment segment : segments) {
+            out.addAll(segment.findBySessionId(sessionId));
+        }
+        return out;
+    }
+
+    /** Column scan of every archived score, for analytics and sketch rebuilds. */
+    public void scanScores(ArchiveSegment.ScoreVisitor visitor) {
+        segments.forEach(segment -> segment.scanScores(visitor));
+    }
+
+    /**
+     * Detaches the archive if the live table just issued an id it already holds, i.e. the
+     * sequence restarted. Called with every newly saved evaluation's id.
+     */
+    public void checkIssuedId(long id) {
+        if (segments.isEmpty() || id > maxArchivedId()) return;
+        detach("the live table issued id=" + id + " again");
+    }
+
+    public long maxArchivedId() {
+        return segments.stream().mapToLong(ArchiveSegment::maxId).max().orElse(0L);
+    }
+
+    /** Id of a live row that shares an id with an archived row but not its content, if any. */
+    private Optional<Long> firstForeignId() {
+        for (ArchiveSegment segment : segments) {
+            Slice<EvaluationRecord> live = repository.findByIdBetweenOrderByIdAsc(
+                    segment.minId(), segment.maxId(), PageRequest.of(0, OVERLAP_PROBE));
+            for (EvaluationRecord r : live) {
+                // Live rows in the range without an archived copy are just not old enough yet
+                Optional<EvaluationRecord> archived = segment.findById(r.getId());
+                if (archived.isPresent() && !isSameEvaluation(archived.get(), r)) return Optional.of(r.getId());
+            }
+        }
+        return Optional.empty();
+    }
+
+    private void detach(String reason) {
+        log.error("Archive in {} holds ids up to {} but {}; it belongs to another database and is detached. "
+                + "Move it aside to resume archiving.", directory, maxArchivedId(), reason);
+        enabled = false;
+        segments.clear();
+    }
+
+    private static boolean isSameEvaluation(EvaluationRecord archived, EvaluationRecord live) {
+        return Objects.equals(archived.getSubmittedAt(), live.getSubmittedAt())
+                && Objects.equals(archived.getSessionId(), live.getSessionId())
+                && Objects.equals(archived.getQuestionId(), live.getQuestionId());
+    }
+
+    private void openSegment(Path file) {
+        try {
+            segments.add(ArchiveSegment.open(file));
+        } catch (IOException | RuntimeException e) {
+            log.error("Skipping unreadable archive segment {}: {}", file, e.getMessage());
+        }
+    }
+
+    private void archiveSafely() {
+        try {
+            archiveOnce();
+        } catch (Exception e) {
+            log.error("Archiving evaluations failed", e);
+        }
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        archiver.shutdownNow();
+    }
+}
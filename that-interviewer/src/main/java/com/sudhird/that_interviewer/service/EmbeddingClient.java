@@ -1,5 +1,9 @@
 package com.sudhird.that_interviewer.service;
 
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
 import org.springframework.beans.factory.annotation.Value;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
@@ -7,7 +11,15 @@ import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
 import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 
 @Slf4j
 @Component
@@ -16,21 +28,80 @@ public class EmbeddingClient {
     private final WebClient webClient;
     private final Duration timeout;
 
+    // Micro-batching: concurrent callers are coalesced into one POST /similarity/batch
+    private final boolean batchEnabled;
+    private final int maxBatchSize;
+    private final Duration batchWindow;
+    private final BlockingQueue<PendingSimilarity> pending = new LinkedBlockingQueue<>();
+    private final Thread batchCollector;
+    private volatile boolean running = true;
+
+    private final DistributionSummary batchSizes;
+    private final Timer batchWait;
+
     public EmbeddingClient(
             WebClient.Builder builder,
+            MeterRegistry meterRegistry,
             @Value("${embedding.service.url}") String baseUrl,
-            @Value("${embedding.service.timeout-seconds}") int timeoutSeconds
+            @Value("${embedding.service.timeout-seconds}") int timeoutSeconds,
+            @Value("${embedding.service.batch.enabled:true}") boolean batchEnabled,
+            @Value("${embedding.service.batch.max-size:32}") int maxBatchSize,
+            @Value("${embedding.service.batch.window-millis:5}") long batchWindowMillis
     ) {
         this.webClient = builder.baseUrl(baseUrl).build();
         this.timeout = Duration.ofSeconds(timeoutSeconds);
+        this.batchEnabled = batchEnabled;
+        this.maxBatchSize = Math.max(1, maxBatchSize);
+        this.batchWindow = Duration.ofMillis(Math.max(0, batchWindowMillis));
+
+        this.batchSizes = DistributionSummary.builder("embedding.batch.size")
+                .description("Similarity requests coalesced into one embedding-service call")
+                .register(meterRegistry);
+        this.batchWait = Timer.builder("embedding.batch.wait")
+                .description("Time a caller waited for its batch to fill before dispatch")
+                .register(meterRegistry);
+
+        if (batchEnabled) {
+            this.batchCollector = new Thread(this::collectBatches, "embedding-batcher");
+            this.batchCollector.setDaemon(true);
+            this.batchCollector.start();
+        } else {
+            this.batchCollector = null;
+        }
     }
 
     /**
-     * Calls POST /similarity on the embedding service.
+     * Returns the cosine similarity between the two texts. With batching enabled the call is
+     * queued and sent together with other concurrent calls; otherwise it goes straight to
+     * POST /similarity.
      *
      * @return cosine similarity 0.0–1.0, or empty if the service is unavailable
      */
     public Optional<Double> getSimilarity(String userAnswer, String idealAnswer) {
+        if (!batchEnabled) return getSimilarityUnbatched(userAnswer, idealAnswer);
+
+        PendingSimilarity request = new PendingSimilarity(
+                userAnswer, idealAnswer, System.nanoTime(), new CompletableFuture<>());
+        pending.add(request);
+
+        try {
+            Optional<Double> result = request.result()
+                    .get(timeout.plus(batchWindow).toMillis(), TimeUnit.MILLISECONDS);
+            result.ifPresent(sim -> log.info("Embedding similarity: {}", sim));
+            return result;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return Optional.empty();
+        } catch (ExecutionException | TimeoutException e) {
+            log.warn("Failed to get similarity from embedding service: {}", e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    /**
+     * Calls POST /similarity on the embedding service.
+     */
+    private Optional<Double> getSimilarityUnbatched(String userAnswer, String idealAnswer) {
         try {
             SimilarityRequest body = new SimilarityRequest(userAnswer, idealAnswer);
 
@@ -57,6 +128,98 @@ public class EmbeddingClient {
         }
     }
 
+    // ── Batching ──────────────────────────────────────────────────────────────
+
+    /**
+     * Collector loop: blocks for the first request, then keeps the batch open until it is
+     * full or the window measured from that first request has elapsed.
+     */
+    private void collectBatches() {
+        while (running) {
+            try {
+                PendingSimilarity first = pending.take();
+                List<PendingSimilarity> batch = new ArrayList<>(maxBatchSize);
+                batch.add(first);
+
+                long deadline = first.enqueuedAt() + batchWindow.toNanos();
+                while (batch.size() < maxBatchSize) {
+                    long remaining = deadline - System.nanoTime();
+                    PendingSimilarity next = remaining > 0
+                            ? pending.poll(remaining, TimeUnit.NANOSECONDS)
+                            : pending.poll();
+                    if (next == null) break;
+                    batch.add(next);
+                }
+
+                dispatch(batch);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                break;
+            } catch (Exception e) {
+                log.warn("Embedding batcher error: {}", e.getMessage());
+            }
+        }
+    }
+
+    /** Sends one batch without blocking the collector, then fans results back out. */
+    private void dispatch(List<PendingSimilarity> batch) {
+        long now = System.nanoTime();
+        batchSizes.record(batch.size());
+        batch.forEach(p -> batchWait.record(now - p.enqueuedAt(), TimeUnit.NANOSECONDS));
+
+        BatchSimilarityRequest body = new BatchSimilarityRequest(batch.stream()
+                .map(p -> new TextPair(p.userAnswer(), p.idealAnswer()))
+                .toList());
+
+        webClient.post()
+                .uri("/similarity/batch")
+                .bodyValue(body)
+                .retrieve()
+                .bodyToMono(BatchSimilarityResponse.class)
+                .timeout(timeout)
+                .subscribe(
+                        response -> complete(batch, response),
+                        e -> {
+                            log.warn("Embedding service unavailable for batch of {}: {}", batch.size(), e.getMessage());
+                            completeEmpty(batch);
+                        },
+                        () -> completeEmpty(batch)   // no-op for callers already completed
+                );
+    }
+
+    private void complete(List<PendingSimilarity> batch, BatchSimilarityResponse response) {
+        List<Double> similarities = response.similarities();
+        if (similarities == null || similarities.size() != batch.size()) {
+            log.warn("Embedding batch returned {} results for {} requests",
+                    similarities == null ? 0 : similarities.size(), batch.size());
+            completeEmpty(batch);
+            return;
+        }
+        for (int i = 0; i < batch.size(); i++) {
+            batch.get(i).result().complete(Optional.ofNullable(similarities.get(i)));
+        }
+    }
+
+    private void completeEmpty(List<PendingSimilarity> batch) {
+        batch.forEach(p -> p.result().complete(Optional.empty()));
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        running = false;
+        if (batchCollector != null) batchCollector.interrupt();
+        List<PendingSimilarity> leftover = new ArrayList<>();
+        pending.drainTo(leftover);
+        completeEmpty(leftover);
+    }
+
+    private record PendingSimilarity(
+            String userAnswer,
+            String idealAnswer,
+            long enqueuedAt,
+            CompletableFuture<Optional<Double>> result
+    ) {}
+
     // ── Internal DTOs (only used by this client) ──────────────────────────────
 
     private record SimilarityRequest(
@@ -69,4 +232,17 @@ public class EmbeddingClient {
             String user_answer,
             String ideal_answer
     ) {}
+
+    private record TextPair(
+            String text1,
+            String text2
+    ) {}
+
+    private record BatchSimilarityRequest(
+            List<TextPair> pairs
+    ) {}
+
+    private record BatchSimilarityResponse(
+            List<Double> similarities
+    ) {}
 }
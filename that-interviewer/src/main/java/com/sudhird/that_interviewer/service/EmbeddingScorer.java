@@ -0,0 +1,54 @@
+package com.sudhird.that_interviewer.service;
+
+import com.sudhird.that_interviewer.model.Question;
+import com.sudhird.that_interviewer.model.ScoringWeights;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/** Semantic similarity to the ideal answer, from the embedding service. */
+@Component
+public class EmbeddingScorer implements Scorer {
+
+    private final EmbeddingClient embeddingClient;
+    private final Duration deadline;
+
+    public EmbeddingScorer(
+            EmbeddingClient embeddingClient,
+            @Value("${scoring.deadline-millis.embedding:5000}") long deadlineMillis
+    ) {
+        this.embeddingClient = embeddingClient;
+        this.deadline = Duration.ofMillis(deadlineMillis);
+    }
+
+    @Override
+    public String name() {
+        return "embedding";
+    }
+
+    @Override
+    public Duration deadline() {
+        return deadline;
+    }
+
+    @Override
+    public Set<String> signals() {
+        return Set.of(ScoringWeights.SIMILARITY);
+    }
+
+    /** Remote and paid per call — re-scoring reuses the stored similarity. */
+    @Override
+    public boolean recomputable() {
+        return false;
+    }
+
+    @Override
+    public Optional<Result> score(String userAnswer, Question question) {
+        return embeddingClient.getSimilarity(userAnswer, question.getIdealAnswer())
+                .map(sim -> Result.of(Map.of(ScoringWeights.SIMILARITY, sim)));
+    }
+}
@@ -4,6 +4,7 @@ package com.sudhird.that_interviewer.service;
 import com.sudhird.that_interviewer.dto.ScoringResult;
 import com.sudhird.that_interviewer.model.EvaluationRecord;
 import com.sudhird.that_interviewer.model.Question;
+import com.sudhird.that_interviewer.model.ScoringWeights;
 import com.sudhird.that_interviewer.repository.EvaluationRecordRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,12 +24,19 @@ public class EvaluationService {
 
     private final EvaluationRecordRepository repository;
     private final QuestionCatalogService catalogService;
-    private final KeywordScoringService scoringService;
-    private final EmbeddingClient embeddingClient;
+    private final ScoringEngine scoringEngine;
+    private final PercentileService percentileService;
+    private final ArchiveService archiveService;
 
     @Transactional
     public EvaluationRecord saveAnswer(int questionId, String userAnswer, String sessionId) {
-        Question question = catalogService.getById(questionId)
+        return saveAnswer(questionId, userAnswer, sessionId, new EvaluationTimings(questionId, sessionId));
+    }
+
+    /** Same as above, recording per-stage durations into {@code timings} (and JFR). */
+    @Transactional
+    public EvaluationRecord saveAnswer(int questionId, String userAnswer, String sessionId, EvaluationTimings timings) {
+        Question question = timings.stage("catalog", () -> catalogService.getById(questionId))
                 .orElseThrow(() -> new IllegalArgumentException("Question not found with id: " + questionId));
 
         boolean skipped = isSkipped(userAnswer);
@@ -38,8 +46,7 @@ public class EvaluationService {
             // Force zero scores — no point calling the embedding service
             score = ScoringResult.zero(question.getRequiredConcepts(), question.getAdvancedConcepts());
         } else {
-            Optional<Double> similarity = embeddingClient.getSimilarity(userAnswer, question.getIdealAnswer());
-            score = scoringService.score(userAnswer, question.getRequiredConcepts(), question.getAdvancedConcepts(), similarity);
+            score = scoringEngine.score(userAnswer, question, timings);
         }
 
         EvaluationRecord record = new EvaluationRecord();
@@ -48,6 +55,17 @@ public class EvaluationService {
         record.setQuestionText(question.getQuestion());
         record.setUserAnswer(userAnswer);
         record.setExperience(question.getExperience());
+        applyScore(record, score, scoringEngine.weights());
+
+        EvaluationRecord saved = timings.stage("persist", () -> repository.save(record));
+        archiveService.checkIssuedId(saved.getId());
+        percentileService.recordAfterCommit(saved);
+        log.info("Saved evaluation id={} sessionId={} skipped={} finalScore={}",
+                saved.getId(), sessionId, skipped, score.finalScore());
+        return saved;
+    }
+
+    static void applyScore(EvaluationRecord record, ScoringResult score, ScoringWeights weights) {
         record.setFinalScore(score.finalScore());
         record.setRequiredConceptScore(score.requiredConceptScore());
         record.setAdvancedBonus(score.advancedBonus());
@@ -55,14 +73,10 @@ public class EvaluationService {
         record.setMatchedRequired(join(score.matchedRequired()));
         record.setMatchedAdvanced(join(score.matchedAdvanced()));
         record.setEmbeddingUsed(score.similarityScore().isPresent());
-
-        EvaluationRecord saved = repository.save(record);
-        log.info("Saved evaluation id={} sessionId={} skipped={} finalScore={}",
-                saved.getId(), sessionId, skipped, score.finalScore());
-        return saved;
+        record.setScoringVersion(weights.version());
     }
 
-    private boolean isSkipped(String answer) {
+    static boolean isSkipped(String answer) {
         if (answer == null) return true;
         String trimmed = answer.trim();
         return trimmed.isEmpty()
@@ -72,9 +86,12 @@ public class EvaluationService {
 
     public List<EvaluationRecord> getAll() { return repository.findAll(); }
 
-    public Optional<EvaluationRecord> getById(Long id) { return repository.findById(id); }
+    /** Live table first, then the archive tier for evaluations that have aged out of it. */
+    public Optional<EvaluationRecord> getById(Long id) {
+        return repository.findById(id).or(() -> archiveService.findById(id));
+    }
 
-    private String join(List<String> items) {
+    private static String join(List<String> items) {
         if (items == null || items.isEmpty()) return "";
         return String.join(", ", items);
     }
@@ -0,0 +1,32 @@
+package com.sudhird.that_interviewer.service;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * JFR event covering one stage of {@link EvaluationService#saveAnswer}.
+ * Stages: catalog, one per {@link Scorer} (embedding, keyword), fallback, persist.
+ */
+@Name("com.sudhird.that_interviewer.EvaluationStage")
+@Label("Evaluation Stage")
+@Category({"That Interviewer", "Evaluation"})
+@Description("Duration of one stage of answer evaluation")
+@StackTrace(false)
+class EvaluationStageEvent extends Event {
+
+    @Label("Stage")
+    String stage;
+
+    @Label("Question Id")
+    int questionId;
+
+    @Label("Session Id")
+    String sessionId;
+
+    @Label("Detail")
+    String detail;
+}
@@ -0,0 +1,99 @@
+package com.sudhird.that_interviewer.service;
+
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+
+/**
+ * Per-request stage timings for an evaluation. Each stage is recorded as a JFR
+ * {@link EvaluationStageEvent} and kept here so the controller can return it as a
+ * {@code Server-Timing} header. One instance per request; stages may run on scorer threads.
+ */
+public class EvaluationTimings {
+
+    /** Records nothing, for scoring outside a request such as the bulk re-score job. */
+    public static final EvaluationTimings NONE = new EvaluationTimings(0, null) {
+        @Override
+        public <T> T stage(String name, Supplier<T> body, Function<? super T, String> describe) {
+            return body.get();
+        }
+
+        @Override
+        public void abandon(String name, long elapsedNanos, String detail) {
+        }
+    };
+
+    private final int questionId;
+    private final String sessionId;
+    private final Map<String, Long> durationsNanos = new LinkedHashMap<>();
+    private final Map<String, String> details = new LinkedHashMap<>();
+    private final Set<String> abandoned = new HashSet<>();
+
+    public EvaluationTimings(int questionId, String sessionId) {
+        this.questionId = questionId;
+        this.sessionId = sessionId;
+    }
+
+    public <T> T stage(String name, Supplier<T> body) {
+        return stage(name, body, result -> null);
+    }
+
+    /** Times {@code body}; {@code describe} turns its result into the stage's detail text. */
+    public <T> T stage(String name, Supplier<T> body, Function<? super T, String> describe) {
+        EvaluationStageEvent event = new EvaluationStageEvent();
+        event.begin();
+        long start = System.nanoTime();
+        T result = null;
+        boolean completed = false;
+        try {
+            result = body.get();
+            completed = true;
+            return result;
+        } finally {
+            long elapsed = System.nanoTime() - start;
+            String detail = !completed ? "failed" : result == null ? null : describe.apply(result);
+            synchronized (this) {
+                // An abandoned stage keeps the time it was given up at, not when it finally ended
+                if (!abandoned.contains(name)) {
+                    durationsNanos.merge(name, elapsed, Long::sum);
+                    if (detail != null) details.put(name, detail);
+                }
+            }
+
+            event.end();
+            if (event.shouldCommit()) {
+                event.stage = name;
+                event.questionId = questionId;
+                event.sessionId = sessionId;
+                event.detail = detail;
+                event.commit();
+            }
+        }
+    }
+
+    /**
+     * Records a stage that was given up on while still running, e.g. a scorer past its deadline,
+     * as taking {@code elapsedNanos}. Whatever the stage records when it does end is ignored.
+     */
+    public synchronized void abandon(String name, long elapsedNanos, String detail) {
+        abandoned.add(name);
+        durationsNanos.put(name, elapsedNanos);
+        details.put(name, detail);
+    }
+
+    /** e.g. {@code catalog;dur=0.02, embedding;dur=41.7, fallback;dur=0.00;desc="all scorers"} */
+    public synchronized String toServerTimingHeader() {
+        StringBuilder sb = new StringBuilder();
+        durationsNanos.forEach((name, nanos) -> {
+            if (sb.length() > 0) sb.append(", ");
+            sb.append(name).append(";dur=").append(String.format(Locale.ROOT, "%.2f", nanos / 1_000_000.0));
+            String detail = details.get(name);
+            if (detail != null) sb.append(";desc=\"").append(detail.replace("\"", "'")).append('"');
+        });
+        return sb.toString();
+    }
+}
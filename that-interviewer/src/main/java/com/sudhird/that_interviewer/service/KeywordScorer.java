@@ -0,0 +1,54 @@
+package com.sudhird.that_interviewer.service;
+
+import com.sudhird.that_interviewer.model.Question;
+import com.sudhird.that_interviewer.model.ScoringWeights;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/** Required/advanced concept coverage as scoring signals. */
+@Component
+public class KeywordScorer implements Scorer {
+
+    private final KeywordScoringService scoringService;
+    private final Duration deadline;
+
+    public KeywordScorer(
+            KeywordScoringService scoringService,
+            @Value("${scoring.deadline-millis.keyword:200}") long deadlineMillis
+    ) {
+        this.scoringService = scoringService;
+        this.deadline = Duration.ofMillis(deadlineMillis);
+    }
+
+    @Override
+    public String name() {
+        return "keyword";
+    }
+
+    @Override
+    public Duration deadline() {
+        return deadline;
+    }
+
+    @Override
+    public Set<String> signals() {
+        return Set.of(ScoringWeights.REQUIRED, ScoringWeights.ADVANCED);
+    }
+
+    @Override
+    public Optional<Result> score(String userAnswer, Question question) {
+        KeywordScoringService.KeywordMatch match =
+                scoringService.match(userAnswer, question.getRequiredConcepts(), question.getAdvancedConcepts());
+        return Optional.of(new Result(
+                Map.of(ScoringWeights.REQUIRED, match.requiredScore(),
+                       ScoringWeights.ADVANCED, match.advancedBonus()),
+                match.matchedRequired(),
+                match.matchedAdvanced()
+        ));
+    }
+}
@@ -0,0 +1,585 @@
+package com.sudhird.that_interviewer.service;
+
+import com.sudhird.that_interviewer.model.EvaluationRecord;
+import com.sudhird.that_interviewer.model.ScoreHistogram;
+import com.sudhird.that_interviewer.model.SessionRecord;
+import com.sudhird.that_interviewer.repository.EvaluationRecordRepository;
+import com.sudhird.that_interviewer.repository.SessionRecordRepository;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.BufferedInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.ArrayList;
+import java.util.BitSet;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.OptionalDouble;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * "Better than X%" ranks per question, per experience bracket and across completed sessions.
+ * <p>
+ * Each key holds a {@link ScoreHistogram} updated in O(1) as answers are saved. A session
+ * counts once, when its scored answers reach the question count stored with the session in
+ * {@code interview_sessions} — the same rule whether the answers arrive live or are replayed.
+ * Only sessions in flight are tracked: a counted session is dropped shortly after, an idle one
+ * after {@code percentiles.session-idle-hours}, and one that resumes after that is re-seeded
+ * from its stored answers. Sketches are checkpointed to disk periodically; at startup the
+ * checkpoint is loaded and evaluations newer than it are replayed, or — when there is no
+ * usable checkpoint — everything is rebuilt from the database.
+ */
+@Slf4j
+@Service
+public class PercentileService {
+
+    private static final int CHECKPOINT_MAGIC = 0x54495043;   // "TIPC"
+    private static final int CHECKPOINT_VERSION = 4;
+    private static final int REBUILD_CHUNK = 1000;
+    // A counted session lingers this long, so an answer recorded concurrently still finds it
+    private static final long COUNTED_GRACE_MILLIS = 60_000;
+    private static final int MAX_SESSION_SIZE = 10_000;
+
+    private final EvaluationRecordRepository repository;
+    private final SessionRecordRepository sessionRepository;
+    private final ArchiveService archiveService;
+    private final Path checkpointPath;
+    private final long checkpointIntervalSeconds;
+    private final long sessionIdleMillis;
+
+    private volatile Sketches sketches = new Sketches();
+    // Newest evaluation reflected in the sketches; identifies the checkpoint's replay point
+    private final AtomicReference<HighWater> highWater = new AtomicReference<>(HighWater.NONE);
+
+    // record() holds the read lock; swapping in rebuilt sketches and snapshotting for a
+    // checkpoint hold the write lock, so neither can miss or double-count a concurrent record
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private Queue<EvaluationRecord> arrivedDuringRebuild;   // guarded by lock
+
+    private final ScheduledExecutorService housekeeper = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread t = new Thread(r, "percentile-housekeeping");
+        t.setDaemon(true);
+        return t;
+    });
+
+    public PercentileService(
+            EvaluationRecordRepository repository,
+            SessionRecordRepository sessionRepository,
+            ArchiveService archiveService,
+            @Value("${percentiles.checkpoint.path:}") String checkpointPath,
+            @Value("${percentiles.checkpoint.interval-seconds:60}") long checkpointIntervalSeconds,
+            @Value("${percentiles.session-idle-hours:24}") long sessionIdleHours
+    ) {
+        this.repository = repository;
+        this.sessionRepository = sessionRepository;
+        this.archiveService = archiveService;
+        this.checkpointPath = checkpointPath.isBlank() ? null : Path.of(checkpointPath);
+        this.checkpointIntervalSeconds = checkpointIntervalSeconds;
+        this.sessionIdleMillis = TimeUnit.HOURS.toMillis(sessionIdleHours);
+    }
+
+    @PostConstruct
+    public void init() {
+        Optional<Long> restoredUpTo = restoreCheckpoint();
+        if (restoredUpTo.isPresent()) {
+            replay(restoredUpTo.get(), new Replay(sketches, true));
+            log.info("Restored percentile sketches from {} and replayed evaluations after id={}",
+                    checkpointPath, restoredUpTo.get());
+        } else {
+            rebuildFromDatabase();
+        }
+
+        if (checkpointIntervalSeconds > 0) {
+            housekeeper.scheduleWithFixedDelay(this::housekeeping,
+                    checkpointIntervalSeconds, checkpointIntervalSeconds, TimeUnit.SECONDS);
+        }
+    }
+
+    /**
+     * Records {@code r} once the surrounding transaction commits, so a rolled-back answer never
+     * reaches the sketches and a rebuild reading the table can't miss one that is still pending.
+     * Outside a transaction it is recorded right away.
+     */
+    public void recordAfterCommit(EvaluationRecord r) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            record(r);
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                record(r);
+            }
+        });
+    }
+
+    public void record(EvaluationRecord r) {
+        if (r.getFinalScore() == null || r.getId() == null) return;
+        lock.readLock().lock();
+        try {
+            sketches.record(r, System.currentTimeMillis(), this::seedProgress);
+            advanceHighWater(r);
+            if (arrivedDuringRebuild != null) arrivedDuringRebuild.add(r);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /** Rank of an answer already recorded against the other answers; empty while it is the only one. */
+    public Optional<Double> questionPercentile(int questionId, double score) {
+        ScoreHistogram h = sketches.byQuestion.get(questionId);
+        return h == null ? Optional.empty() : h.percentileRankAmongOthers(score);
+    }
+
+    public Optional<Double> experiencePercentile(String experience, double score) {
+        if (experience == null) return Optional.empty();
+        ScoreHistogram h = sketches.byExperience.get(experience);
+        return h == null ? Optional.empty() : h.percentileRankAmongOthers(score);
+    }
+
+    /** Rank against other completed sessions — a complete session is already in the sketch itself. */
+    public Optional<Double> sessionPercentile(double totalScore, boolean complete) {
+        ScoreHistogram h = sketches.sessions;
+        return complete ? h.percentileRankAmongOthers(totalScore) : h.percentileRank(totalScore);
+    }
+
+    /**
+     * Recomputes every sketch from the evaluation table and the archive tier and swaps them in.
+     * Used at startup without a checkpoint and after a bulk re-score changes stored scores.
+     * Answers saved while the replay runs are captured and applied to the new sketches too.
+     */
+    public synchronized void rebuildFromDatabase() {
+        long start = System.nanoTime();
+        Replay rebuilt = new Replay(new Sketches(), false);
+        Queue<EvaluationRecord> arrived = new ConcurrentLinkedQueue<>();
+        withWriteLock(() -> arrivedDuringRebuild = arrived);
+        try {
+            replay(0L, rebuilt);
+            withWriteLock(() -> {
+                // Committed while the replay ran. Ids are assigned before commit, so one below the
+                // replay's cursor may still have been missed; only the ones it read are skipped
+                long now = System.currentTimeMillis();
+                for (EvaluationRecord r : arrived) {
+                    if (!rebuilt.applied(r.getId())) rebuilt.record(r, now);
+                }
+                this.sketches = rebuilt.target;
+            });
+            log.info("Rebuilt percentile sketches from {} evaluations (+{} saved meanwhile) in {} ms",
+                    rebuilt.count, arrived.size(), (System.nanoTime() - start) / 1_000_000);
+        } finally {
+            withWriteLock(() -> arrivedDuringRebuild = null);
+        }
+    }
+
+    /** Streams evaluations after {@code afterId} into {@code target}. */
+    private void replay(long afterId, Replay target) {
+        long cursor = afterId;
+
+        // Archived evaluations predate everything left in the table, so only a full replay reads
+        // them; they are long idle, so their sessions are stamped as such
+        if (afterId == 0L) {
+            archiveService.scanScores((id, questionId, experience, finalScore, sessionId) ->
+                    target.record(id, questionId, experience, finalScore, sessionId, 0L));
+        }
+
+        while (true) {
+            Slice<EvaluationRecord> slice =
+                    repository.findByIdGreaterThanOrderByIdAsc(cursor, PageRequest.of(0, REBUILD_CHUNK));
+            for (EvaluationRecord r : slice.getContent()) {
+                if (r.getFinalScore() != null) {
+                    target.record(r, r.getSubmittedAt() == null ? 0L : r.getSubmittedAt().toEpochMilli());
+                    target.markApplied(r.getId());
+                }
+                advanceHighWater(r);
+            }
+            if (!slice.hasContent()) break;
+            cursor = slice.getContent().get(slice.getNumberOfElements() - 1).getId();
+            if (!slice.hasNext()) break;
+        }
+    }
+
+    /**
+     * Session progress for a session's first answer seen in memory, seeded from the answers
+     * stored before it — so a session that went idle and resumes, or that straddles a restart,
+     * still completes once. Sessions without a stored size, or already counted, come back as
+     * counted and are never counted again.
+     */
+    private SessionProgress seedProgress(String sessionId, long currentId) {
+        int size = sessionRepository.findById(sessionId).map(SessionRecord::getQuestionCount).orElse(0);
+        SessionProgress p = new SessionProgress(size, System.currentTimeMillis());
+        if (size <= 0) return p;
+
+        List<EvaluationRecord> stored = new ArrayList<>(archiveService.findBySessionId(sessionId));
+        stored.addAll(repository.findBySessionId(sessionId));
+        stored.sort(Comparator.comparing(EvaluationRecord::getId));
+        for (EvaluationRecord e : stored) {
+            // Reaching the size here means the session was complete before this answer
+            if (e.getFinalScore() != null && e.getId() != currentId) p.add(e.getId(), e.getFinalScore(), 0L);
+        }
+        return p;
+    }
+
+    /** Drops counted sessions past their grace period and sessions idle for too long. */
+    void pruneSessions() {
+        long now = System.currentTimeMillis();
+        sketches.progress.values().removeIf(p -> p.expired(now, sessionIdleMillis));
+    }
+
+    private void housekeeping() {
+        pruneSessions();
+        checkpoint();
+    }
+
+    private void advanceHighWater(EvaluationRecord r) {
+        if (r.getId() == null || r.getSubmittedAt() == null) return;
+        HighWater candidate = new HighWater(r.getId(), r.getSubmittedAt().toEpochMilli());
+        highWater.accumulateAndGet(candidate, (a, b) -> a.id() >= b.id() ? a : b);
+    }
+
+    private void withWriteLock(Runnable body) {
+        lock.writeLock().lock();
+        try {
+            body.run();
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    // ── Checkpointing ─────────────────────────────────────────────────────────
+
+    void checkpoint() {
+        if (checkpointPath == null) return;
+        try {
+            byte[] image = snapshot();
+            Path dir = checkpointPath.toAbsolutePath().getParent();
+            Files.createDirectories(dir);
+            Path tmp = Files.createTempFile(dir, checkpointPath.getFileName().toString(), ".tmp");
+            try {
+                Files.write(tmp, image);
+                Files.move(tmp, checkpointPath, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } finally {
+                Files.deleteIfExists(tmp);
+            }
+        } catch (IOException e) {
+            log.warn("Failed to checkpoint percentile sketches to {}: {}", checkpointPath, e.getMessage());
+        }
+    }
+
+    /**
+     * Copies the sketches and the high-water mark under the write lock, so the image holds
+     * exactly the evaluations up to that mark, then serializes the copy with the lock released.
+     * Histograms are written sparsely.
+     */
+    private byte[] snapshot() throws IOException {
+        Sketches current;
+        HighWater mark;
+        lock.writeLock().lock();
+        try {
+            current = sketches.copy();
+            mark = highWater.get();
+        } finally {
+            lock.writeLock().unlock();
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeInt(CHECKPOINT_MAGIC);
+            out.writeInt(CHECKPOINT_VERSION);
+            out.writeLong(mark.id());
+            out.writeLong(mark.submittedAtMillis());
+            writeHistogram(out, current.sessions);
+
+            out.writeInt(current.byQuestion.size());
+            for (Map.Entry<Integer, ScoreHistogram> e : current.byQuestion.entrySet()) {
+                out.writeInt(e.getKey());
+                writeHistogram(out, e.getValue());
+            }
+
+            out.writeInt(current.byExperience.size());
+            for (Map.Entry<String, ScoreHistogram> e : current.byExperience.entrySet()) {
+                out.writeUTF(e.getKey());
+                writeHistogram(out, e.getValue());
+            }
+
+            // Sessions in flight, so the ones straddling the checkpoint still complete
+            out.writeInt(current.progress.size());
+            for (Map.Entry<String, SessionProgress> e : current.progress.entrySet()) {
+                out.writeUTF(e.getKey());
+                e.getValue().write(out);
+            }
+        }
+        return bytes.toByteArray();
+    }
+
+    /** Returns the id the checkpoint covers, or empty when it is missing, stale or unreadable. */
+    private Optional<Long> restoreCheckpoint() {
+        if (checkpointPath == null || !Files.isRegularFile(checkpointPath)) return Optional.empty();
+
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(checkpointPath)))) {
+            if (in.readInt() != CHECKPOINT_MAGIC || in.readInt() != CHECKPOINT_VERSION) return Optional.empty();
+
+            HighWater mark = new HighWater(in.readLong(), in.readLong());
+            if (mark.id() == 0L) return Optional.empty();   // nothing recorded yet; rebuilding is free
+            // The database was reset since this checkpoint (e.g. in-memory H2) — ids alone cannot
+            // tell, since the new database reuses them, so the row must be the same one
+            if (!isSameEvaluation(mark)) {
+                log.info("Percentile checkpoint covers id={} but that evaluation is gone or different, rebuilding",
+                        mark.id());
+                return Optional.empty();
+            }
+
+            Sketches restored = new Sketches();
+            restored.sessions.merge(readHistogram(in));
+            int questions = in.readInt();
+            for (int i = 0; i < questions; i++) {
+                restored.byQuestion.put(in.readInt(), readHistogram(in));
+            }
+            int experiences = in.readInt();
+            for (int i = 0; i < experiences; i++) {
+                restored.byExperience.put(in.readUTF(), readHistogram(in));
+            }
+            int sessions = in.readInt();
+            for (int i = 0; i < sessions; i++) {
+                restored.progress.put(in.readUTF(), SessionProgress.read(in));
+            }
+
+            this.sketches = restored;
+            highWater.set(mark);
+            return Optional.of(mark.id());
+        } catch (IOException e) {
+            log.warn("Ignoring unreadable percentile checkpoint {}: {}", checkpointPath, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private boolean isSameEvaluation(HighWater mark) {
+        return repository.findById(mark.id())
+                .or(() -> archiveService.findById(mark.id()))
+                // 1 ms slack: the stored timestamp may be rounded rather than truncated
+                .map(r -> r.getSubmittedAt() != null
+                        && Math.abs(r.getSubmittedAt().toEpochMilli() - mark.submittedAtMillis()) <= 1)
+                .orElse(false);
+    }
+
+    /** Sparse: the number of non-empty bins, then (bin, count) pairs. */
+    private static void writeHistogram(DataOutputStream out, ScoreHistogram h) throws IOException {
+        long[] counts = h.toArray();
+        int nonEmpty = 0;
+        for (long c : counts) if (c != 0) nonEmpty++;
+        out.writeByte(nonEmpty);
+        for (int bin = 0; bin < counts.length; bin++) {
+            if (counts[bin] == 0) continue;
+            out.writeByte(bin);
+            out.writeLong(counts[bin]);
+        }
+    }
+
+    private static ScoreHistogram readHistogram(DataInputStream in) throws IOException {
+        long[] counts = new long[ScoreHistogram.BINS];
+        int nonEmpty = in.readUnsignedByte();
+        for (int i = 0; i < nonEmpty; i++) {
+            int bin = in.readUnsignedByte();
+            if (bin >= counts.length) throw new IOException("Histogram bin " + bin + " out of range");
+            counts[bin] = in.readLong();
+        }
+        return ScoreHistogram.of(counts);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        housekeeper.shutdownNow();
+        checkpoint();
+    }
+
+    private static final class Sketches {
+        final Map<Integer, ScoreHistogram> byQuestion = new ConcurrentHashMap<>();
+        final Map<String, ScoreHistogram> byExperience = new ConcurrentHashMap<>();
+        final ScoreHistogram sessions = new ScoreHistogram();
+        // Sessions in flight, by session id
+        final Map<String, SessionProgress> progress = new ConcurrentHashMap<>();
+
+        boolean record(EvaluationRecord r, long at, ProgressSource source) {
+            return record(r.getId(), r.getQuestionId(), r.getExperience(), r.getFinalScore(), r.getSessionId(), at, source);
+        }
+
+        /** Returns true when this answer completed its session. */
+        boolean record(long id, int questionId, String experience, double score, String sessionId,
+                       long at, ProgressSource source) {
+            byQuestion.computeIfAbsent(questionId, k -> new ScoreHistogram()).record(score);
+            if (experience != null) {
+                byExperience.computeIfAbsent(experience, k -> new ScoreHistogram()).record(score);
+            }
+
+            if (sessionId == null) return false;
+            SessionProgress p = progress.computeIfAbsent(sessionId, k -> source.create(k, id));
+            OptionalDouble completedTotal = p.add(id, score, at);
+            completedTotal.ifPresent(sessions::record);
+            return completedTotal.isPresent();
+        }
+
+        Sketches copy() {
+            Sketches c = new Sketches();
+            byQuestion.forEach((k, h) -> c.byQuestion.put(k, ScoreHistogram.of(h.toArray())));
+            byExperience.forEach((k, h) -> c.byExperience.put(k, ScoreHistogram.of(h.toArray())));
+            c.sessions.merge(sessions);
+            progress.forEach((k, p) -> c.progress.put(k, p.copy()));
+            return c;
+        }
+    }
+
+    @FunctionalInterface
+    private interface ProgressSource {
+        SessionProgress create(String sessionId, long currentId);
+    }
+
+    /**
+     * One pass over stored evaluations into {@code target}. Session sizes are looked up once
+     * per session, and a session is forgotten as soon as it is counted, since the pass sees its
+     * answers in order. A pass on top of a restored checkpoint seeds sessions it has not seen
+     * from the database instead, like live traffic.
+     */
+    private final class Replay {
+        final Sketches target;
+        private final boolean seedFromDatabase;
+        private final Map<String, Integer> sizes = new HashMap<>();   // 0 once counted
+        // Evaluation-table ids read by the pass, offset by the first one; they arrive in id order
+        private final BitSet appliedIds = new BitSet();
+        private long firstAppliedId = -1;
+        long count;
+
+        Replay(Sketches target, boolean seedFromDatabase) {
+            this.target = target;
+            this.seedFromDatabase = seedFromDatabase;
+        }
+
+        void record(EvaluationRecord r, long at) {
+            record(r.getId(), r.getQuestionId(), r.getExperience(), r.getFinalScore(), r.getSessionId(), at);
+        }
+
+        void record(long id, int questionId, String experience, double score, String sessionId, long at) {
+            count++;
+            if (target.record(id, questionId, experience, score, sessionId, at, this::newProgress)
+                    && !seedFromDatabase) {
+                target.progress.remove(sessionId);
+                sizes.put(sessionId, 0);
+            }
+        }
+
+        void markApplied(long id) {
+            if (firstAppliedId < 0) firstAppliedId = id;
+            appliedIds.set(Math.toIntExact(id - firstAppliedId));
+        }
+
+        boolean applied(long id) {
+            return firstAppliedId >= 0 && id >= firstAppliedId
+                    && appliedIds.get(Math.toIntExact(id - firstAppliedId));
+        }
+
+        private SessionProgress newProgress(String sessionId, long currentId) {
+            if (seedFromDatabase) return seedProgress(sessionId, currentId);
+            int size = sizes.computeIfAbsent(sessionId, k ->
+                    sessionRepository.findById(k).map(SessionRecord::getQuestionCount).orElse(0));
+            return new SessionProgress(size, 0L);
+        }
+    }
+
+    private record HighWater(long id, long submittedAtMillis) {
+        static final HighWater NONE = new HighWater(0L, 0L);
+    }
+
+    /**
+     * Running total of one session's answers; reports the total once, when the session completes.
+     * Answer ids are kept, so an answer seen twice (seeded, then recorded) only counts once.
+     */
+    private static final class SessionProgress {
+        private final int size;
+        private final long[] ids;
+        private int answers;
+        private double sum;
+        private boolean counted;
+        private long touchedAt;
+
+        /** A size of zero means the session is not tracked; it starts out counted. */
+        SessionProgress(int size, long touchedAt) {
+            this.size = Math.max(0, size);
+            this.ids = new long[this.size];
+            this.counted = this.size == 0;
+            this.touchedAt = touchedAt;
+        }
+
+        synchronized OptionalDouble add(long id, double score, long at) {
+            touchedAt = Math.max(touchedAt, at);
+            if (counted) return OptionalDouble.empty();
+            for (int i = 0; i < answers; i++) {
+                if (ids[i] == id) return OptionalDouble.empty();
+            }
+            ids[answers++] = id;
+            sum += score;
+            if (answers < size) return OptionalDouble.empty();
+            counted = true;
+            // Same rounding as SessionService's summary total
+            return OptionalDouble.of(Math.round(sum / answers * 100.0) / 100.0);
+        }
+
+        synchronized boolean expired(long now, long idleMillis) {
+            return now - touchedAt > (counted ? COUNTED_GRACE_MILLIS : idleMillis);
+        }
+
+        synchronized SessionProgress copy() {
+            SessionProgress c = new SessionProgress(size, touchedAt);
+            System.arraycopy(ids, 0, c.ids, 0, answers);
+            c.answers = answers;
+            c.sum = sum;
+            c.counted = counted;
+            return c;
+        }
+
+        synchronized void write(DataOutputStream out) throws IOException {
+            out.writeInt(size);
+            out.writeInt(answers);
+            for (int i = 0; i < answers; i++) out.writeLong(ids[i]);
+            out.writeDouble(sum);
+            out.writeBoolean(counted);
+            out.writeLong(touchedAt);
+        }
+
+        static SessionProgress read(DataInputStream in) throws IOException {
+            int size = in.readInt();
+            int answers = in.readInt();
+            if (size < 0 || size > MAX_SESSION_SIZE || answers < 0 || answers > size) {
+                throw new IOException("Session progress " + answers + "/" + size + " out of range");
+            }
+            SessionProgress p = new SessionProgress(size, 0L);
+            for (int i = 0; i < answers; i++) p.ids[i] = in.readLong();
+            p.answers = answers;
+            p.sum = in.readDouble();
+            p.counted = in.readBoolean();
+            p.touchedAt = in.readLong();
+            return p;
+        }
+    }
+}
@@ -1,16 +1,28 @@
 package com.sudhird.that_interviewer.service;
 
+import com.sudhird.that_interviewer.dto.QuestionResponse;
+import com.sudhird.that_interviewer.dto.QuestionSearchResponse;
+import com.sudhird.that_interviewer.model.CatalogSnapshot;
+import com.sudhird.that_interviewer.model.CompactCatalog;
 import com.sudhird.that_interviewer.model.Question;
+import com.sudhird.that_interviewer.model.QuestionIndex;
 import jakarta.annotation.PostConstruct;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.core.io.ClassPathResource;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.Resource;
+import org.springframework.core.io.support.PathMatchingResourcePatternResolver;
+import org.springframework.core.io.support.ResourcePatternResolver;
 import org.springframework.stereotype.Service;
-import tools.jackson.core.type.TypeReference;
+import tools.jackson.databind.MappingIterator;
 import tools.jackson.databind.ObjectMapper;
 
 import java.io.IOException;
 import java.io.InputStream;
-import java.util.Collections;
+import java.io.UncheckedIOException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
 import java.util.List;
 import java.util.Optional;
 import java.util.Random;
@@ -20,65 +32,188 @@ import java.util.Random;
 public class QuestionCatalogService {
 
     private final ObjectMapper objectMapper;
-    private List<Question> catalog = Collections.emptyList();
+    private final ResourcePatternResolver resourceResolver = new PathMatchingResourcePatternResolver();
+    private final String locations;
+    private final String snapshotPath;
+    private volatile CompactCatalog catalog = CompactCatalog.EMPTY;
+    private volatile QuestionIndex index = QuestionIndex.EMPTY;
     private final Random random = new Random();
 
-    public QuestionCatalogService(ObjectMapper objectMapper) {
+    public QuestionCatalogService(
+            ObjectMapper objectMapper,
+            @Value("${catalog.locations:classpath:java_backend_questions.json}") String locations,
+            @Value("${catalog.snapshot.path:}") String snapshotPath
+    ) {
         this.objectMapper = objectMapper;
+        this.locations = locations;
+        this.snapshotPath = snapshotPath;
     }
 
+    /**
+     * Boots from the binary snapshot when it matches the current source files; otherwise
+     * stream-parses every catalog file in parallel and writes a fresh snapshot.
+     */
     @PostConstruct
     public void loadCatalog() {
+        long start = System.nanoTime();
         try {
-            InputStream is = new ClassPathResource("java_backend_questions.json").getInputStream();
-            List<Question> questions = objectMapper.readValue(is, new TypeReference<>() {});
+            List<Resource> sources = resolveSources();
+            long fingerprint = fingerprint(sources);
+            Path snapshot = snapshotPath.isBlank() ? null : Path.of(snapshotPath);
+
+            Optional<CompactCatalog> fromSnapshot = snapshot == null ? Optional.empty() : readSnapshot(snapshot, fingerprint);
+            if (fromSnapshot.isPresent()) {
+                install(fromSnapshot.get());
+                logLoaded("snapshot " + snapshot, start);
+                return;
+            }
+
+            // Stable IDs are positions across files in load order; beans are dropped as they are encoded
+            List<CompactCatalog> parts = sources.parallelStream().map(this::parse).toList();
+            install(CompactCatalog.concat(parts));
+            logLoaded(sources.size() + " catalog file(s)", start);
+
+            if (snapshot != null) writeSnapshot(snapshot, fingerprint);
+
+        } catch (IOException | UncheckedIOException e) {
+            log.error("Failed to load question catalog from '{}'", locations, e);
+            throw new IllegalStateException("Cannot start without question catalog", e);
+        }
+    }
+
+    private void install(CompactCatalog loaded) {
+        this.index = QuestionIndex.build(loaded);
+        this.catalog = loaded;
+    }
+
+    private List<Resource> resolveSources() throws IOException {
+        List<Resource> sources = new ArrayList<>();
+        for (String pattern : locations.split(",")) {
+            if (pattern.isBlank()) continue;
+            // Within a pattern, name order keeps question ids stable across restarts
+            Arrays.stream(resourceResolver.getResources(pattern.trim()))
+                    .filter(Resource::exists)
+                    .sorted(Comparator.comparing(r -> String.valueOf(r.getFilename())))
+                    .forEach(sources::add);
+        }
+        if (sources.isEmpty()) {
+            throw new IOException("No catalog files match '" + locations + "'");
+        }
+        return sources;
+    }
+
+    /** Streams one file element by element into its own compact part. */
+    private CompactCatalog parse(Resource resource) {
+        CompactCatalog.Builder builder = CompactCatalog.builder();
+        try (InputStream is = resource.getInputStream();
+             MappingIterator<Question> questions = objectMapper.readerFor(Question.class).readValues(is)) {
+            while (questions.hasNext()) {
+                builder.add(questions.next());
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to parse " + resource.getDescription(), e);
+        }
+        return builder.build();
+    }
 
-            // Assign stable IDs based on position
-            for (int i = 0; i < questions.size(); i++) {
-                questions.get(i).setId(i);
+    /** Changes whenever a source file is added, removed, resized or touched. */
+    private long fingerprint(List<Resource> sources) {
+        long h = 1125899906842597L;
+        for (Resource r : sources) {
+            h = 31 * h + r.getDescription().hashCode();
+            try {
+                h = 31 * h + r.contentLength();
+                h = 31 * h + r.lastModified();
+            } catch (IOException e) {
+                // Unknown size/mtime — the name alone still identifies the source
             }
+        }
+        return h;
+    }
 
-            this.catalog = Collections.unmodifiableList(questions);
-            log.info("Loaded {} questions from catalog", catalog.size());
+    private Optional<CompactCatalog> readSnapshot(Path snapshot, long fingerprint) {
+        try {
+            Optional<CompactCatalog> loaded = CatalogSnapshot.read(snapshot, fingerprint);
+            if (loaded.isEmpty()) log.info("No usable catalog snapshot at {}, parsing sources", snapshot);
+            return loaded;
+        } catch (IOException | RuntimeException e) {
+            log.warn("Ignoring unreadable catalog snapshot {}: {}", snapshot, e.getMessage());
+            return Optional.empty();
+        }
+    }
 
+    private void writeSnapshot(Path snapshot, long fingerprint) {
+        try {
+            CatalogSnapshot.write(catalog, snapshot, fingerprint);
+            log.info("Wrote catalog snapshot to {}", snapshot);
         } catch (IOException e) {
-            log.error("Failed to load questions.json", e);
-            throw new IllegalStateException("Cannot start without question catalog", e);
+            log.warn("Failed to write catalog snapshot {}: {}", snapshot, e.getMessage());
         }
     }
 
+    private void logLoaded(String source, long startNanos) {
+        log.info("Loaded {} questions from {} in {} ms ({} roles, {} experience brackets, {} distinct concepts, {} index terms)",
+                catalog.size(), source, (System.nanoTime() - startNanos) / 1_000_000,
+                catalog.distinctRoles(), catalog.distinctExperiences(), catalog.distinctConcepts(), index.terms());
+    }
+
     /**
      * Returns a random question, optionally filtered by experience bracket.
      * If no match is found for the given experience, returns from the full catalog.
      */
     public Optional<Question> getRandomQuestion(String experience) {
-        List<Question> pool = catalog;
+        CompactCatalog current = catalog;
 
         if (experience != null && !experience.isBlank()) {
-            List<Question> filtered = catalog.stream()
-                    .filter(q -> experience.equalsIgnoreCase(q.getExperience()))
-                    .toList();
+            List<Integer> filtered = current.findIds(null, experience);
 
             if (!filtered.isEmpty()) {
-                pool = filtered;
-            } else {
-                log.warn("No questions found for experience='{}', falling back to full catalog", experience);
+                return Optional.of(current.question(filtered.get(random.nextInt(filtered.size()))));
             }
+            log.warn("No questions found for experience='{}', falling back to full catalog", experience);
         }
 
-        if (pool.isEmpty()) {
+        if (current.size() == 0) {
             return Optional.empty();
         }
 
-        return Optional.of(pool.get(random.nextInt(pool.size())));
+        return Optional.of(current.question(random.nextInt(current.size())));
     }
 
     public Optional<Question> getById(int id) {
-        if (id < 0 || id >= catalog.size()) return Optional.empty();
-        return Optional.of(catalog.get(id));
+        CompactCatalog current = catalog;
+        if (id < 0 || id >= current.size()) return Optional.empty();
+        return Optional.of(current.question(id));
+    }
+
+    /**
+     * Ids of questions matching role and experience (case-insensitive); blank filters match all.
+     * The returned list is mutable and owned by the caller.
+     */
+    public List<Integer> findIds(String role, String experience) {
+        return catalog.findIds(role, experience);
+    }
+
+    /**
+     * Ranked full-text search over question text and concepts, filtered by role and
+     * experience with the same rules as {@link #findIds}. {@code page} is zero-based.
+     */
+    public QuestionSearchResponse search(String query, String role, String experience, int page, int size) {
+        CompactCatalog current = catalog;
+        int offset = (int) Math.min((long) page * size, Integer.MAX_VALUE);
+        QuestionIndex.Result found = index.search(query, current.filter(role, experience), offset, size);
+
+        List<QuestionSearchResponse.SearchHit> results = found.hits().stream()
+                .map(h -> new QuestionSearchResponse.SearchHit(
+                        Math.round(h.score() * 1000.0) / 1000.0,
+                        QuestionResponse.from(current.question(h.id()))))
+                .toList();
+
+        return new QuestionSearchResponse(query, page, size, found.totalHits(), results);
     }
 
+    /** Read-only view over the catalog; questions are materialized on access. */
     public List<Question> getAll() {
-        return catalog;
+        return catalog.asList();
     }
 }
@@ -0,0 +1,304 @@
+package com.sudhird.that_interviewer.service;
+
+import com.sudhird.that_interviewer.dto.RescoreJobResponse;
+import com.sudhird.that_interviewer.dto.ScoringResult;
+import com.sudhird.that_interviewer.model.EvaluationRecord;
+import com.sudhird.that_interviewer.model.Question;
+import com.sudhird.that_interviewer.model.ScoringWeights;
+import com.sudhird.that_interviewer.repository.EvaluationRecordRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Slice;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Re-scores historical evaluations against a versioned weight set.
+ * <p>
+ * Records are streamed in id order in chunks, each chunk is scored in parallel on a
+ * dedicated fork-join pool and written back in one transaction as batched UPDATEs. The job keeps
+ * the id of the last written record, so a failed or cancelled job resumes where it stopped,
+ * and records already at the target version are skipped, so re-running a job is idempotent.
+ * <p>
+ * Archived evaluations are re-scored too, after the live table, one segment at a time; a
+ * segment with changes is rewritten in place. The whole job holds the archiver off
+ * ({@link ArchiveService#runExclusively}), so no row moves between the tiers while it runs
+ * and the percentile rebuild at the end sees one scoring version throughout.
+ */
+@Slf4j
+@Service
+public class RescoringService {
+
+    private final EvaluationRecordRepository repository;
+    private final QuestionCatalogService catalogService;
+    private final ScoringEngine scoringEngine;
+    private final PercentileService percentileService;
+    private final ArchiveService archiveService;
+    private final TransactionTemplate transactionTemplate;
+    private final int chunkSize;
+
+    private final ForkJoinPool scoringPool;
+    // One job at a time — concurrent jobs would just contend for the same pool and DB
+    private final ExecutorService jobRunner = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "rescoring-job");
+        t.setDaemon(true);
+        return t;
+    });
+
+    private final Map<String, Job> jobs = new ConcurrentHashMap<>();
+
+    public RescoringService(
+            EvaluationRecordRepository repository,
+            QuestionCatalogService catalogService,
+            ScoringEngine scoringEngine,
+            PercentileService percentileService,
+            ArchiveService archiveService,
+            TransactionTemplate transactionTemplate,
+            @Value("${rescoring.chunk-size:500}") int chunkSize,
+            @Value("${rescoring.parallelism:0}") int parallelism
+    ) {
+        this.repository = repository;
+        this.catalogService = catalogService;
+        this.scoringEngine = scoringEngine;
+        this.percentileService = percentileService;
+        this.archiveService = archiveService;
+        this.transactionTemplate = transactionTemplate;
+        this.chunkSize = Math.max(1, chunkSize);
+        this.scoringPool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+    }
+
+    public RescoreJobResponse start(ScoringWeights weights, boolean refreshMissingSimilarity) {
+        Job job = new Job(UUID.randomUUID().toString(), weights, refreshMissingSimilarity);
+        jobs.put(job.id, job);
+        jobRunner.submit(() -> run(job));
+        log.info("Queued rescoring job id={} version={}", job.id, weights.version());
+        return job.toResponse();
+    }
+
+    public Optional<RescoreJobResponse> getStatus(String jobId) {
+        return Optional.ofNullable(jobs.get(jobId)).map(Job::toResponse);
+    }
+
+    public Optional<RescoreJobResponse> cancel(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) return Optional.empty();
+        job.cancelRequested = true;
+        return Optional.of(job.toResponse());
+    }
+
+    /** Re-queues a failed or cancelled job from its last written record. */
+    public Optional<RescoreJobResponse> resume(String jobId) {
+        Job job = jobs.get(jobId);
+        if (job == null) return Optional.empty();
+        if (job.status != Status.FAILED && job.status != Status.CANCELLED) {
+            throw new IllegalStateException("Job " + jobId + " is " + job.status + " and cannot be resumed");
+        }
+        job.cancelRequested = false;
+        job.error = null;
+        job.finishedAt = null;
+        job.status = Status.QUEUED;
+        jobRunner.submit(() -> run(job));
+        log.info("Resuming rescoring job id={} after id={}", jobId, job.lastProcessedId);
+        return Optional.of(job.toResponse());
+    }
+
+    private void run(Job job) {
+        job.status = Status.RUNNING;
+        if (job.startedAt == null) job.startedAt = Instant.now();
+
+        try {
+            archiveService.runExclusively(() -> {
+                rescoreLiveTable(job);
+                if (!job.cancelRequested) rescoreArchive(job);
+                // Stored scores moved, so the percentile sketches have to follow
+                if (job.updated.get() > 0) percentileService.rebuildFromDatabase();
+            });
+            job.status = job.cancelRequested ? Status.CANCELLED : Status.COMPLETED;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            job.status = Status.CANCELLED;
+        } catch (Exception e) {
+            log.error("Rescoring job id={} failed after id={}", job.id, job.lastProcessedId, e);
+            job.error = e.getMessage();
+            job.status = Status.FAILED;
+        } finally {
+            job.finishedAt = Instant.now();
+            log.info("Rescoring job id={} finished status={} processed={} updated={} skipped={} failed={}",
+                    job.id, job.status, job.processed.get(), job.updated.get(),
+                    job.skipped.get(), job.failed.get());
+        }
+    }
+
+    private void rescoreLiveTable(Job job) throws Exception {
+        long cursor = job.lastProcessedId;
+        while (!job.cancelRequested) {
+            Slice<EvaluationRecord> slice =
+                    repository.findByIdGreaterThanOrderByIdAsc(cursor, PageRequest.of(0, chunkSize));
+            List<EvaluationRecord> chunk = slice.getContent();
+            if (chunk.isEmpty()) break;
+
+            List<EvaluationRecord> rescored = rescoreChunk(chunk, job);
+            if (!rescored.isEmpty()) {
+                writeBack(rescored);
+            }
+
+            cursor = chunk.get(chunk.size() - 1).getId();
+            job.lastProcessedId = cursor;
+            job.processed.addAndGet(chunk.size());
+            job.updated.addAndGet(rescored.size());
+
+            log.info("Rescoring job id={} processed={} updated={} lastId={} throughput={}/s",
+                    job.id, job.processed.get(), job.updated.get(), cursor,
+                    Math.round(job.recordsPerSecond()));
+
+            if (!slice.hasNext()) break;
+        }
+    }
+
+    /**
+     * Segments are re-read in full on every run, including a resumed one; rows already at the
+     * target version are skipped, so a segment is only rewritten when something changed.
+     */
+    private void rescoreArchive(Job job) throws Exception {
+        long rewritten = archiveService.rewriteSegments(rows -> {
+            if (job.cancelRequested) return List.of();
+            job.processed.addAndGet(rows.size());
+            return rescoreChunk(rows, job);
+        });
+        job.updated.addAndGet(rewritten);
+        job.archivedUpdated.addAndGet(rewritten);
+        if (rewritten > 0) {
+            log.info("Rescoring job id={} rewrote {} archived evaluations", job.id, rewritten);
+        }
+    }
+
+    /** Scores the chunk in parallel and returns the records that changed. */
+    private List<EvaluationRecord> rescoreChunk(List<EvaluationRecord> chunk, Job job) throws Exception {
+        // Running the parallel stream inside our pool keeps it off the common pool
+        return scoringPool.submit(() -> chunk.parallelStream()
+                .map(r -> rescore(r, job))
+                .filter(Objects::nonNull)
+                .toList()
+        ).get();
+    }
+
+    /**
+     * Loads the chunk into one persistence context before merging, so {@code merge} copies onto
+     * managed entities instead of issuing a SELECT per row, and the dirty rows flush at commit
+     * as batched UPDATEs ({@code hibernate.jdbc.batch_size}).
+     */
+    private void writeBack(List<EvaluationRecord> rescored) {
+        List<Long> ids = rescored.stream().map(EvaluationRecord::getId).toList();
+        transactionTemplate.executeWithoutResult(status -> {
+            repository.findAllById(ids);
+            repository.saveAll(rescored);
+        });
+    }
+
+    /** Returns the updated record, or null when there is nothing to write. */
+    private EvaluationRecord rescore(EvaluationRecord record, Job job) {
+        try {
+            if (job.weights.version().equals(record.getScoringVersion())) {
+                job.skipped.incrementAndGet();
+                return null;
+            }
+
+            Optional<Question> question = catalogService.getById(record.getQuestionId());
+            if (question.isEmpty()) {
+                job.skipped.incrementAndGet();
+                return null;
+            }
+            Question q = question.get();
+
+            ScoringResult score;
+            if (EvaluationService.isSkipped(record.getUserAnswer())) {
+                score = ScoringResult.zero(q.getRequiredConcepts(), q.getAdvancedConcepts());
+            } else {
+                // Weights don't change embeddings, so the stored similarity is reused as-is
+                score = scoringEngine.rescore(record.getUserAnswer(), q, job.weights,
+                        storedSignals(record), job.refreshMissingSimilarity);
+            }
+
+            EvaluationService.applyScore(record, score, job.weights);
+            return record;
+        } catch (Exception e) {
+            log.warn("Failed to rescore evaluation id={}: {}", record.getId(), e.getMessage());
+            job.failed.incrementAndGet();
+            return null;
+        }
+    }
+
+    private static Map<String, Double> storedSignals(EvaluationRecord record) {
+        Map<String, Double> stored = new HashMap<>();
+        if (record.getSimilarityScore() != null) stored.put(ScoringWeights.SIMILARITY, record.getSimilarityScore());
+        if (record.getRequiredConceptScore() != null) stored.put(ScoringWeights.REQUIRED, record.getRequiredConceptScore());
+        if (record.getAdvancedBonus() != null) stored.put(ScoringWeights.ADVANCED, record.getAdvancedBonus());
+        return stored;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        jobs.values().forEach(j -> j.cancelRequested = true);
+        jobRunner.shutdownNow();
+        scoringPool.shutdownNow();
+    }
+
+    private enum Status { QUEUED, RUNNING, COMPLETED, FAILED, CANCELLED }
+
+    private static final class Job {
+        final String id;
+        final ScoringWeights weights;
+        final boolean refreshMissingSimilarity;
+
+        final AtomicLong processed = new AtomicLong();
+        final AtomicLong updated = new AtomicLong();
+        final AtomicLong skipped = new AtomicLong();
+        final AtomicLong failed = new AtomicLong();
+        final AtomicLong archivedUpdated = new AtomicLong();
+
+        volatile Status status = Status.QUEUED;
+        volatile boolean cancelRequested;
+        volatile long lastProcessedId = 0L;
+        volatile Instant startedAt;
+        volatile Instant finishedAt;
+        volatile String error;
+
+        Job(String id, ScoringWeights weights, boolean refreshMissingSimilarity) {
+            this.id = id;
+            this.weights = weights;
+            this.refreshMissingSimilarity = refreshMissingSimilarity;
+        }
+
+        double recordsPerSecond() {
+            if (startedAt == null) return 0.0;
+            Instant end = finishedAt != null ? finishedAt : Instant.now();
+            long millis = Math.max(1, Duration.between(startedAt, end).toMillis());
+            return processed.get() * 1000.0 / millis;
+        }
+
+        RescoreJobResponse toResponse() {
+            return new RescoreJobResponse(
+                    id, weights.version(), status.name(),
+                    processed.get(), updated.get(), skipped.get(), failed.get(),
+                    archivedUpdated.get(), lastProcessedId, Math.round(recordsPerSecond() * 100.0) / 100.0,
+                    startedAt, finishedAt, error
+            );
+        }
+    }
+}
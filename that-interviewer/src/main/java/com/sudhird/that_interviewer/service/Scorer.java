@@ -0,0 +1,47 @@
+package com.sudhird.that_interviewer.service;
+
+import com.sudhird.that_interviewer.model.Question;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * A source of scoring signals for an answer. Every {@code Scorer} bean is picked up by
+ * {@link ScoringEngine}, run concurrently with the others and given its own deadline;
+ * its signals are combined by the active {@link com.sudhird.that_interviewer.model.ScoringWeights}.
+ */
+public interface Scorer {
+
+    /** Short name used for Server-Timing, JFR and logs, e.g. "keyword". */
+    String name();
+
+    /** How long the engine waits for this scorer before scoring without it. */
+    Duration deadline();
+
+    /** Names of the signals this scorer produces. */
+    Set<String> signals();
+
+    /**
+     * Whether re-running this scorer is cheap and reproducible. Re-scoring runs recomputable
+     * scorers again and reuses the stored signals of the others (e.g. a remote model).
+     */
+    default boolean recomputable() {
+        return true;
+    }
+
+    /** @return the signals for this answer, or empty if the scorer has nothing to contribute */
+    Optional<Result> score(String userAnswer, Question question);
+
+    record Result(
+            Map<String, Double> signals,      // signal name -> value in 0.0–1.0
+            List<String> matchedRequired,
+            List<String> matchedAdvanced
+    ) {
+        public static Result of(Map<String, Double> signals) {
+            return new Result(signals, List.of(), List.of());
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.sudhird.that_interviewer.service;
+
+import com.sudhird.that_interviewer.dto.ScoringResult;
+import com.sudhird.that_interviewer.model.Question;
+import com.sudhird.that_interviewer.model.ScoringWeights;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Runs every {@link Scorer} concurrently and combines their signals.
+ * <p>
+ * All scorers are forked at once and joined against their own deadline measured from the
+ * same start, so latency is the slowest scorer that makes its deadline rather than the sum.
+ * Anything still running when {@link #score} returns is cancelled. Missing signals are
+ * dropped and the weights renormalize over what is left. Live scoring and the bulk
+ * re-scoring job share this path, so a new scorer's signals count in both.
+ */
+@Slf4j
+@Service
+public class ScoringEngine {
+
+    private final List<Scorer> scorers;
+    private final ScoringWeights weights;
+
+    private final AtomicInteger threadCount = new AtomicInteger();
+    private final ExecutorService executor = Executors.newCachedThreadPool(r -> {
+        Thread t = new Thread(r, "scorer-" + threadCount.incrementAndGet());
+        t.setDaemon(true);
+        return t;
+    });
+
+    public ScoringEngine(List<Scorer> scorers, ScoringWeightsRegistry weightsRegistry) {
+        this.scorers = List.copyOf(scorers);
+        this.weights = weightsRegistry.active();
+        log.info("Scoring with weights {} and scorers {}", weights.version(),
+                this.scorers.stream().map(Scorer::name).toList());
+    }
+
+    public ScoringWeights weights() {
+        return weights;
+    }
+
+    public ScoringResult score(String userAnswer, Question question, EvaluationTimings timings) {
+        return run(userAnswer, question, weights, scorers, Map.of(), timings);
+    }
+
+    /**
+     * Re-scores a stored answer with {@code weights}. Recomputable scorers run again; the others
+     * contribute their {@code stored} signals, and only run when those were never stored and
+     * {@code refreshMissing} is set.
+     */
+    public ScoringResult rescore(String userAnswer, Question question, ScoringWeights weights,
+                                 Map<String, Double> stored, boolean refreshMissing) {
+        List<Scorer> selected = scorers.stream()
+                .filter(s -> s.recomputable() || (refreshMissing && !stored.keySet().containsAll(s.signals())))
+                .toList();
+
+        Map<String, Double> reused = new HashMap<>(stored);
+        selected.forEach(s -> reused.keySet().removeAll(s.signals()));
+
+        return run(userAnswer, question, weights, selected, reused, EvaluationTimings.NONE);
+    }
+
+    private ScoringResult run(String userAnswer, Question question, ScoringWeights weights,
+                              List<Scorer> selected, Map<String, Double> reused, EvaluationTimings timings) {
+        long start = System.nanoTime();
+
+        Map<Scorer, Future<Optional<Scorer.Result>>> running = new LinkedHashMap<>();
+        for (Scorer scorer : selected) {
+            running.put(scorer, executor.submit(
+                    () -> timings.stage(scorer.name(), () -> scorer.score(userAnswer, question))));
+        }
+
+        Map<String, Double> signals = new HashMap<>(reused);
+        List<String> matchedRequired = new ArrayList<>();
+        List<String> matchedAdvanced = new ArrayList<>();
+        List<String> missing = new ArrayList<>();
+
+        try {
+            for (Map.Entry<Scorer, Future<Optional<Scorer.Result>>> entry : running.entrySet()) {
+                Scorer scorer = entry.getKey();
+                long remaining = start + scorer.deadline().toNanos() - System.nanoTime();
+                try {
+                    Optional<Scorer.Result> result = entry.getValue().get(Math.max(0, remaining), TimeUnit.NANOSECONDS);
+                    if (result.isEmpty()) {
+                        missing.add(scorer.name());
+                        continue;
+                    }
+                    signals.putAll(result.get().signals());
+                    matchedRequired.addAll(result.get().matchedRequired());
+                    matchedAdvanced.addAll(result.get().matchedAdvanced());
+                } catch (TimeoutException e) {
+                    log.warn("Scorer '{}' missed its {} ms deadline", scorer.name(), scorer.deadline().toMillis());
+                    timings.abandon(scorer.name(), System.nanoTime() - start, "deadline missed");
+                    missing.add(scorer.name());
+                } catch (ExecutionException e) {
+                    // The stage itself recorded how long it ran before failing
+                    log.warn("Scorer '{}' failed: {}", scorer.name(), e.getCause().getMessage());
+                    missing.add(scorer.name());
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    timings.abandon(scorer.name(), System.nanoTime() - start, "interrupted");
+                    missing.add(scorer.name());
+                }
+            }
+        } finally {
+            running.values().forEach(f -> f.cancel(true));   // no-op for the ones that finished
+        }
+
+        double finalScore = timings.stage("fallback", () -> weights.combine(signals),
+                s -> missing.isEmpty() ? "all scorers" : "without " + String.join("+", missing));
+
+        double requiredScore = signals.getOrDefault(ScoringWeights.REQUIRED, 0.0);
+        double advancedBonus = signals.getOrDefault(ScoringWeights.ADVANCED, 0.0);
+        Optional<Double> similarity = Optional.ofNullable(signals.get(ScoringWeights.SIMILARITY));
+
+        return new ScoringResult(
+                round(finalScore),
+                round(requiredScore),
+                round(advancedBonus),
+                similarity.map(this::round),
+                matchedRequired,
+                matchedAdvanced,
+                question.getRequiredConcepts() == null ? 0 : question.getRequiredConcepts().size(),
+                question.getAdvancedConcepts() == null ? 0 : question.getAdvancedConcepts().size()
+        );
+    }
+
+    private double round(double value) {
+        return Math.round(value * 100.0) / 100.0;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,105 @@
+package com.sudhird.that_interviewer.service;
+
+import com.sudhird.that_interviewer.model.ScoringWeights;
+import com.sudhird.that_interviewer.model.WeightSetRecord;
+import com.sudhird.that_interviewer.repository.EvaluationRecordRepository;
+import com.sudhird.that_interviewer.repository.WeightSetRepository;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.properties.bind.Bindable;
+import org.springframework.boot.context.properties.bind.Binder;
+import org.springframework.core.env.Environment;
+import org.springframework.stereotype.Service;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Named weight sets: the ones configured under {@code scoring.weight-sets}, plus custom sets
+ * registered by re-scoring jobs and persisted in {@code weight_sets}. A version name always
+ * means one set of numbers — a name cannot be registered twice, nor take over a name already
+ * found in {@code scoring_version} — so {@code scoring_version} identifies how a row was scored.
+ * New submissions use the set named by {@code scoring.weights-version}.
+ */
+@Slf4j
+@Service
+public class ScoringWeightsRegistry {
+
+    private final WeightSetRepository weightSetRepository;
+    private final EvaluationRecordRepository evaluationRepository;
+    private final Map<String, ScoringWeights> sets = new ConcurrentHashMap<>();
+    private final ScoringWeights active;
+
+    public ScoringWeightsRegistry(
+            Environment environment,
+            WeightSetRepository weightSetRepository,
+            EvaluationRecordRepository evaluationRepository,
+            @Value("${scoring.weights-version:v2}") String activeVersion
+    ) {
+        this.weightSetRepository = weightSetRepository;
+        this.evaluationRepository = evaluationRepository;
+
+        Map<String, WeightSet> configured = Binder.get(environment)
+                .bind("scoring.weight-sets", Bindable.mapOf(String.class, WeightSet.class))
+                .orElse(Map.of());
+        configured.forEach((version, set) -> sets.put(version, set.toWeights(version)));
+
+        for (WeightSetRecord stored : weightSetRepository.findAll()) {
+            ScoringWeights custom = stored.toWeights();
+            ScoringWeights existing = sets.putIfAbsent(custom.version(), custom);
+            if (existing != null && !existing.equals(custom)) {
+                throw new IllegalStateException("scoring.weight-sets." + custom.version()
+                        + " redefines the registered custom set " + custom + "; rename one of them");
+            }
+        }
+
+        this.active = forVersion(activeVersion)
+                .orElseThrow(() -> new IllegalStateException("Unknown scoring.weights-version: " + activeVersion
+                        + " (configured: " + new TreeMap<>(sets).keySet() + ")"));
+        log.info("Loaded weight sets {}, scoring new submissions with {}", new TreeMap<>(sets).keySet(), active);
+    }
+
+    /** Weight set applied to new submissions through /evaluate. */
+    public ScoringWeights active() {
+        return active;
+    }
+
+    public Optional<ScoringWeights> forVersion(String version) {
+        if (version == null) return Optional.empty();
+        return Optional.ofNullable(sets.get(version));
+    }
+
+    /**
+     * Persists a custom set and makes it resolvable.
+     *
+     * @throws IllegalArgumentException if a set with that version name already exists, or stored
+     *                                  evaluations already carry the name
+     */
+    public synchronized ScoringWeights register(ScoringWeights weights) {
+        String version = weights.version();
+        if (sets.containsKey(version) || weightSetRepository.existsById(version)) {
+            throw new IllegalArgumentException("Weight set '" + version + "' already exists");
+        }
+        if (evaluationRepository.existsByScoringVersion(version)) {
+            throw new IllegalArgumentException("Evaluations were already scored as '" + version
+                    + "' with weights that are not on record; pick a new name");
+        }
+        weightSetRepository.save(WeightSetRecord.of(weights));
+        sets.put(version, weights);
+        log.info("Registered custom weight set {}", weights);
+        return weights;
+    }
+
+    /** One entry of {@code scoring.weight-sets}; every weight must be given, keyword-only may be left out. */
+    record WeightSet(Double similarity, Double required, Double advanced, ScoringWeights.KeywordOnly keywordOnly) {
+        ScoringWeights toWeights(String version) {
+            if (similarity == null || required == null || advanced == null) {
+                throw new IllegalStateException("scoring.weight-sets." + version
+                        + " needs similarity, required and advanced");
+            }
+            return new ScoringWeights(version, similarity, required, advanced, keywordOnly);
+        }
+    }
+}
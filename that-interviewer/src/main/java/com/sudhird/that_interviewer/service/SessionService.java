@@ -4,7 +4,9 @@ import com.sudhird.that_interviewer.dto.SessionStartResponse;
 import com.sudhird.that_interviewer.dto.SummaryResponse;
 import com.sudhird.that_interviewer.model.EvaluationRecord;
 import com.sudhird.that_interviewer.model.Question;
+import com.sudhird.that_interviewer.model.SessionRecord;
 import com.sudhird.that_interviewer.repository.EvaluationRecordRepository;
+import com.sudhird.that_interviewer.repository.SessionRecordRepository;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
@@ -22,28 +24,29 @@ public class SessionService {
 
     private final QuestionCatalogService catalogService;
     private final EvaluationRecordRepository evaluationRepository;
+    private final SessionRecordRepository sessionRepository;
+    private final PercentileService percentileService;
+    private final ArchiveService archiveService;
 
     private final Map<String, SessionMeta> sessions = new ConcurrentHashMap<>();
 
     public SessionStartResponse startSession(String role, String experience) {
         String sessionId = UUID.randomUUID().toString();
-        List<Question> all = new ArrayList<>(catalogService.getAll());
 
         // Primary pool: match both role AND experience
-        List<Question> primary = all.stream()
-                .filter(q -> matchesRole(q, role) && matchesExperience(q, experience))
-                .collect(Collectors.toList());
+        List<Integer> primary = catalogService.findIds(role, experience);
 
         log.info("Primary pool size for role='{}' experience='{}': {}", role, experience, primary.size());
 
-        List<Question> selected = new ArrayList<>();
+        List<Integer> selected = new ArrayList<>();
         Collections.shuffle(primary);
         selected.addAll(primary.subList(0, Math.min(SESSION_SIZE, primary.size())));
 
         // Pad with same-role, any experience
         if (selected.size() < SESSION_SIZE) {
-            List<Question> sameRoleRemainder = all.stream()
-                    .filter(q -> matchesRole(q, role) && !selected.contains(q))
+            Set<Integer> taken = new HashSet<>(selected);
+            List<Integer> sameRoleRemainder = catalogService.findIds(role, null).stream()
+                    .filter(id -> !taken.contains(id))
                     .collect(Collectors.toList());
             Collections.shuffle(sameRoleRemainder);
             int needed = SESSION_SIZE - selected.size();
@@ -53,8 +56,9 @@ public class SessionService {
 
         // Pad with anything remaining if still not enough
         if (selected.size() < SESSION_SIZE) {
-            List<Question> remainder = all.stream()
-                    .filter(q -> !selected.contains(q))
+            Set<Integer> taken = new HashSet<>(selected);
+            List<Integer> remainder = catalogService.findIds(null, null).stream()
+                    .filter(id -> !taken.contains(id))
                     .collect(Collectors.toList());
             Collections.shuffle(remainder);
             int needed = SESSION_SIZE - selected.size();
@@ -62,21 +66,35 @@ public class SessionService {
             log.info("Final pad to {} questions", selected.size());
         }
 
-        List<Integer> questionIds = selected.stream().map(Question::getId).toList();
+        List<Question> questions = selected.stream()
+                .map(catalogService::getById)
+                .flatMap(Optional::stream)
+                .toList();
+
+        List<Integer> questionIds = questions.stream().map(Question::getId).toList();
         sessions.put(sessionId, new SessionMeta(sessionId, role, experience, questionIds));
 
-        List<SessionStartResponse.SessionQuestion> sessionQuestions = selected.stream()
+        SessionRecord session = new SessionRecord();
+        session.setSessionId(sessionId);
+        session.setRole(role);
+        session.setExperience(experience);
+        session.setQuestionCount(questionIds.size());
+        sessionRepository.save(session);
+
+        List<SessionStartResponse.SessionQuestion> sessionQuestions = questions.stream()
                 .map(SessionStartResponse.SessionQuestion::from)
                 .toList();
 
-        return new SessionStartResponse(sessionId, role, experience, selected.size(), sessionQuestions);
+        return new SessionStartResponse(sessionId, role, experience, questions.size(), sessionQuestions);
     }
 
     public Optional<SummaryResponse> getSummary(String sessionId) {
         SessionMeta meta = sessions.get(sessionId);
         if (meta == null) return Optional.empty();
 
-        List<EvaluationRecord> records = evaluationRepository.findBySessionId(sessionId);
+        List<EvaluationRecord> records = new ArrayList<>(archiveService.findBySessionId(sessionId));
+        records.addAll(evaluationRepository.findBySessionId(sessionId));
+        records.sort(Comparator.comparing(EvaluationRecord::getId));
 
         double totalScore = records.stream()
                 .mapToDouble(r -> r.getFinalScore() == null ? 0.0 : r.getFinalScore())
@@ -93,26 +111,22 @@ public class SessionService {
                     orZero(r.getFinalScore()), orZero(r.getRequiredConceptScore()),
                     orZero(r.getAdvancedBonus()), r.getSimilarityScore(),
                     splitCsv(r.getMatchedRequired()), splitCsv(r.getMatchedAdvanced()),
-                    Boolean.TRUE.equals(r.getEmbeddingUsed())
+                    Boolean.TRUE.equals(r.getEmbeddingUsed()),
+                    percentileService.questionPercentile(r.getQuestionId(), orZero(r.getFinalScore())).orElse(null)
             ));
         }
 
+        // PercentileService counts the session itself once its last answer is recorded
+        long scored = records.stream().filter(r -> r.getFinalScore() != null).count();
+        boolean complete = !meta.questionIds().isEmpty() && scored >= meta.questionIds().size();
+        Double percentile = percentileService.sessionPercentile(rounded, complete).orElse(null);
+
         return Optional.of(new SummaryResponse(
                 meta.role(), meta.experience(), records.size(),
-                rounded, SummaryResponse.toGrade(rounded), results
+                rounded, SummaryResponse.toGrade(rounded), percentile, results
         ));
     }
 
-    private boolean matchesRole(Question q, String role) {
-        if (role == null || role.isBlank()) return true;
-        return role.equalsIgnoreCase(q.getRole());
-    }
-
-    private boolean matchesExperience(Question q, String experience) {
-        if (experience == null || experience.isBlank()) return true;
-        return experience.equalsIgnoreCase(q.getExperience());
-    }
-
     private double orZero(Double d) { return d == null ? 0.0 : d; }
 
     private List<String> splitCsv(String csv) {
@@ -0,0 +1,169 @@
+package com.sudhird.that_interviewer.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ArchiveSegmentTest {
+
+    @TempDir
+    Path dir;
+
+    private static EvaluationRecord record(long id, String sessionId, int questionId, Double finalScore) {
+        EvaluationRecord r = new EvaluationRecord();
+        r.setId(id);
+        r.setSessionId(sessionId);
+        r.setQuestionId(questionId);
+        r.setQuestionText("Question " + questionId);
+        r.setUserAnswer("Answer — " + id);
+        r.setExperience("senior");
+        r.setFinalScore(finalScore);
+        r.setRequiredConceptScore(0.5);
+        r.setAdvancedBonus(0.25);
+        r.setSimilarityScore(0.75);
+        r.setMatchedRequired("hashing,buckets");
+        r.setMatchedAdvanced("treeify");
+        r.setEmbeddingUsed(true);
+        r.setScoringVersion("v2");
+        r.setSubmittedAt(Instant.parse("2025-01-02T03:04:05.123456Z").plusSeconds(id));
+        return r;
+    }
+
+    private static EvaluationRecord withNulls(long id) {
+        EvaluationRecord r = new EvaluationRecord();
+        r.setId(id);
+        r.setQuestionId(7);
+        r.setQuestionText("Only the required columns");
+        r.setUserAnswer("");
+        r.setSubmittedAt(Instant.parse("2025-01-03T00:00:00Z"));
+        return r;
+    }
+
+    private final List<EvaluationRecord> records = List.of(
+            record(10, "s1", 1, 80.0),
+            record(11, "s2", 2, 40.0),
+            withNulls(12),
+            record(13, "s1", 3, null)
+    );
+
+    @Test
+    void roundTripsEveryColumnIncludingNulls() throws IOException {
+        ArchiveSegment segment = ArchiveSegment.write(dir.resolve("segment.tias"), records);
+
+        assertEquals(4, segment.rows());
+        assertEquals(10, segment.minId());
+        assertEquals(13, segment.maxId());
+
+        EvaluationRecord full = segment.findById(10).orElseThrow();
+        assertSameRecord(records.get(0), full);
+
+        EvaluationRecord sparse = segment.findById(12).orElseThrow();
+        assertSameRecord(records.get(2), sparse);
+        assertNull(sparse.getSessionId());
+        assertNull(sparse.getFinalScore());
+        assertNull(sparse.getEmbeddingUsed());
+    }
+
+    @Test
+    void reopenedSegmentReadsTheSameRows() throws IOException {
+        Path file = dir.resolve("segment.tias");
+        ArchiveSegment.write(file, records);
+
+        List<EvaluationRecord> all = ArchiveSegment.open(file).readAll();
+        assertEquals(records.size(), all.size());
+        for (int i = 0; i < records.size(); i++) assertSameRecord(records.get(i), all.get(i));
+    }
+
+    @Test
+    void lookupsMissCleanly() throws IOException {
+        ArchiveSegment segment = ArchiveSegment.write(dir.resolve("segment.tias"), records);
+
+        assertTrue(segment.findById(9).isEmpty());
+        assertTrue(segment.findById(14).isEmpty());
+        assertEquals(List.of(), segment.findBySessionId("unknown"));
+    }
+
+    @Test
+    void sessionLookupReturnsEveryRowOfTheSessionInIdOrder() throws IOException {
+        ArchiveSegment segment = ArchiveSegment.write(dir.resolve("segment.tias"), records);
+
+        List<Long> ids = segment.findBySessionId("s1").stream().map(EvaluationRecord::getId).toList();
+        assertEquals(List.of(10L, 13L), ids);
+    }
+
+    @Test
+    void scoreScanSkipsRowsWithoutAFinalScore() throws IOException {
+        ArchiveSegment segment = ArchiveSegment.write(dir.resolve("segment.tias"), records);
+
+        List<String> visited = new ArrayList<>();
+        segment.scanScores((id, questionId, experience, finalScore, sessionId) ->
+                visited.add(id + ":" + questionId + ":" + experience + ":" + finalScore + ":" + sessionId));
+
+        assertEquals(List.of("10:1:senior:80.0:s1", "11:2:senior:40.0:s2"), visited);
+    }
+
+    @Test
+    void rewritingInPlaceReplacesTheRows() throws IOException {
+        Path file = dir.resolve("segment.tias");
+        ArchiveSegment segment = ArchiveSegment.write(file, records);
+        segment.findById(10);   // decode before the rewrite
+
+        List<EvaluationRecord> rows = segment.readAll();
+        rows.get(0).setFinalScore(55.0);
+        rows.get(0).setScoringVersion("v3");
+        ArchiveSegment rewritten = ArchiveSegment.write(file, rows);
+
+        EvaluationRecord r = rewritten.findById(10).orElseThrow();
+        assertEquals(55.0, r.getFinalScore());
+        assertEquals("v3", r.getScoringVersion());
+    }
+
+    @Test
+    void foreignFileIsRejected() throws IOException {
+        Path file = Files.writeString(dir.resolve("segment.tias"), "not a segment at all, just text");
+
+        assertThrows(IOException.class, () -> ArchiveSegment.open(file));
+    }
+
+    @Test
+    void truncatedFileIsRejected() throws IOException {
+        Path file = dir.resolve("segment.tias");
+        ArchiveSegment.write(file, records);
+        byte[] bytes = Files.readAllBytes(file);
+
+        for (int length : new int[]{10, 40, bytes.length / 2, bytes.length - 1}) {
+            Files.write(file, Arrays.copyOf(bytes, length));
+            assertThrows(IOException.class, () -> ArchiveSegment.open(file), "length " + length);
+        }
+    }
+
+    private static void assertSameRecord(EvaluationRecord expected, EvaluationRecord actual) {
+        assertEquals(expected.getId(), actual.getId());
+        assertEquals(expected.getSessionId(), actual.getSessionId());
+        assertEquals(expected.getQuestionId(), actual.getQuestionId());
+        assertEquals(expected.getQuestionText(), actual.getQuestionText());
+        assertEquals(expected.getUserAnswer(), actual.getUserAnswer());
+        assertEquals(expected.getExperience(), actual.getExperience());
+        assertEquals(expected.getFinalScore(), actual.getFinalScore());
+        assertEquals(expected.getRequiredConceptScore(), actual.getRequiredConceptScore());
+        assertEquals(expected.getAdvancedBonus(), actual.getAdvancedBonus());
+        assertEquals(expected.getSimilarityScore(), actual.getSimilarityScore());
+        assertEquals(expected.getMatchedRequired(), actual.getMatchedRequired());
+        assertEquals(expected.getMatchedAdvanced(), actual.getMatchedAdvanced());
+        assertEquals(expected.getEmbeddingUsed(), actual.getEmbeddingUsed());
+        assertEquals(expected.getScoringVersion(), actual.getScoringVersion());
+        assertEquals(expected.getSubmittedAt(), actual.getSubmittedAt());
+    }
+}
@@ -0,0 +1,101 @@
+package com.sudhird.that_interviewer.model;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static com.sudhird.that_interviewer.model.CompactCatalogTest.question;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CatalogSnapshotTest {
+
+    private static final long FINGERPRINT = 0x1234_5678_9abcL;
+
+    @TempDir
+    Path dir;
+
+    private final CompactCatalog catalog = CompactCatalog.from(List.of(
+            question("What is a HashMap?", "Backend Engineer", "junior", List.of("hashing", "buckets"), List.of("treeify")),
+            question("Ünïcode — text", null, "senior", List.of(), null),
+            question(null, "Frontend Engineer", null, List.of("css"), List.of("grid", "flexbox"))
+    ));
+
+    @Test
+    void roundTripsEveryQuestionIncludingNulls() throws IOException {
+        Path file = dir.resolve("catalog.snapshot");
+        CatalogSnapshot.write(catalog, file, FINGERPRINT);
+
+        CompactCatalog read = CatalogSnapshot.read(file, FINGERPRINT).orElseThrow();
+
+        assertEquals(catalog.asList(), read.asList());
+        assertEquals(List.of(0), read.findIds("backend engineer", null));
+    }
+
+    @Test
+    void emptyCatalogRoundTrips() throws IOException {
+        Path file = dir.resolve("empty.snapshot");
+        CatalogSnapshot.write(CompactCatalog.EMPTY, file, FINGERPRINT);
+
+        assertEquals(0, CatalogSnapshot.read(file, FINGERPRINT).orElseThrow().size());
+    }
+
+    @Test
+    void staleFingerprintOrMissingFileIsIgnored() throws IOException {
+        Path file = dir.resolve("catalog.snapshot");
+        CatalogSnapshot.write(catalog, file, FINGERPRINT);
+
+        assertEquals(Optional.empty(), CatalogSnapshot.read(file, FINGERPRINT + 1));
+        assertEquals(Optional.empty(), CatalogSnapshot.read(dir.resolve("missing.snapshot"), FINGERPRINT));
+    }
+
+    @Test
+    void foreignFileIsIgnored() throws IOException {
+        Path file = Files.writeString(dir.resolve("catalog.snapshot"), "[{\"question\": \"not a snapshot\"}]");
+
+        assertEquals(Optional.empty(), CatalogSnapshot.read(file, FINGERPRINT));
+    }
+
+    @Test
+    void truncatedFileIsRejected() throws IOException {
+        Path file = dir.resolve("catalog.snapshot");
+        CatalogSnapshot.write(catalog, file, FINGERPRINT);
+        byte[] bytes = Files.readAllBytes(file);
+        Files.write(file, Arrays.copyOf(bytes, bytes.length / 2));
+
+        assertThrows(IOException.class, () -> CatalogSnapshot.read(file, FINGERPRINT));
+    }
+
+    @Test
+    void corruptLengthIsRejectedWithoutAllocating() throws IOException {
+        Path file = dir.resolve("catalog.snapshot");
+        CatalogSnapshot.write(catalog, file, FINGERPRINT);
+        byte[] bytes = Files.readAllBytes(file);
+        // First dictionary length, right after magic, version and fingerprint
+        bytes[16] = 0x7f;
+        Files.write(file, bytes);
+
+        IOException e = assertThrows(IOException.class, () -> CatalogSnapshot.read(file, FINGERPRINT));
+        assertTrue(e.getMessage().contains("out of range"));
+    }
+
+    @Test
+    void rewriteReplacesTheOldSnapshot() throws IOException {
+        Path file = dir.resolve("catalog.snapshot");
+        CatalogSnapshot.write(catalog, file, FINGERPRINT);
+        CatalogSnapshot.write(CompactCatalog.EMPTY, file, FINGERPRINT + 1);
+
+        assertEquals(Optional.empty(), CatalogSnapshot.read(file, FINGERPRINT));
+        assertEquals(0, CatalogSnapshot.read(file, FINGERPRINT + 1).orElseThrow().size());
+        try (var files = Files.list(dir)) {
+            assertEquals(List.of(file), files.toList());   // no temp files left behind
+        }
+    }
+}
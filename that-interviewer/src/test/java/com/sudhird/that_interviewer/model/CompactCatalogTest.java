@@ -0,0 +1,115 @@
+package com.sudhird.that_interviewer.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class CompactCatalogTest {
+
+    static Question question(String text, String role, String experience, List<String> required, List<String> advanced) {
+        Question q = new Question();
+        q.setQuestion(text);
+        q.setIdealAnswer("ideal: " + text);
+        q.setRole(role);
+        q.setExperience(experience);
+        q.setDifficulty("medium");
+        q.setRequiredConcepts(required);
+        q.setAdvancedConcepts(advanced);
+        return q;
+    }
+
+    private final CompactCatalog catalog = CompactCatalog.from(List.of(
+            question("What is a HashMap?", "Backend Engineer", "junior", List.of("hashing", "buckets"), List.of("treeify")),
+            question("Explain GC roots", "backend engineer", "senior", List.of("gc roots"), List.of()),
+            question("What is CSS?", "Frontend Engineer", "Junior", List.of(), null),
+            question("Untagged", null, null, List.of("hashing"), List.of())
+    ));
+
+    @Test
+    void questionViewRoundTripsEveryField() {
+        Question q = catalog.question(0);
+        assertEquals(0, q.getId());
+        assertEquals("What is a HashMap?", q.getQuestion());
+        assertEquals("ideal: What is a HashMap?", q.getIdealAnswer());
+        assertEquals("Backend Engineer", q.getRole());
+        assertEquals("junior", q.getExperience());
+        assertEquals("medium", q.getDifficulty());
+        assertEquals(List.of("hashing", "buckets"), q.getRequiredConcepts());
+        assertEquals(List.of("treeify"), q.getAdvancedConcepts());
+    }
+
+    @Test
+    void nullAttributesAndConceptListsSurvive() {
+        Question q = catalog.question(3);
+        assertNull(q.getRole());
+        assertNull(q.getExperience());
+        assertEquals(List.of(), catalog.question(2).getAdvancedConcepts());
+        assertEquals(4, catalog.asList().size());
+        assertEquals(3, catalog.distinctRoles());   // null is not interned; the dictionary is case-sensitive
+    }
+
+    @Test
+    void filterIgnoresCaseAcrossDictionaryEntries() {
+        // "Backend Engineer" and "backend engineer" are separate dictionary entries
+        assertEquals(List.of(0, 1), catalog.findIds("BACKEND ENGINEER", null));
+        assertEquals(List.of(0, 2), catalog.findIds(null, "junior"));
+        assertEquals(List.of(0), catalog.findIds("backend engineer", "JUNIOR"));
+    }
+
+    @Test
+    void blankFilterMatchesEverythingAndUnknownMatchesNothing() {
+        assertEquals(List.of(0, 1, 2, 3), catalog.findIds(" ", null));
+        assertTrue(catalog.findIds("Data Engineer", null).isEmpty());
+        assertTrue(catalog.findIds(null, "staff").isEmpty());
+    }
+
+    @Test
+    void concatReencodesAgainstSharedDictionaries() {
+        CompactCatalog more = CompactCatalog.from(List.of(
+                question("What is Kafka?", "Backend Engineer", "senior", List.of("hashing", "partitions"), List.of())
+        ));
+        CompactCatalog merged = CompactCatalog.concat(List.of(catalog, more));
+
+        assertEquals(5, merged.size());
+        assertEquals(4, merged.question(4).getId());
+        assertEquals(List.of("hashing", "partitions"), merged.question(4).getRequiredConcepts());
+        assertEquals(List.of(1, 4), merged.findIds("backend engineer", "senior"));
+    }
+
+    @Test
+    void concatMatchesEncodingEveryQuestionAtOnce() {
+        List<Question> first = catalog.asList();
+        List<Question> second = List.of(
+                question("What is Kafka?", "Data Engineer", "senior", List.of("partitions", "hashing"), List.of("treeify")),
+                question("No attributes", null, null, null, null),
+                question("Explain GC roots", "backend engineer", "Junior", List.of("gc roots"), List.of("regions"))
+        );
+        List<Question> all = new ArrayList<>(first);
+        all.addAll(second);
+
+        CompactCatalog merged = CompactCatalog.concat(List.of(
+                CompactCatalog.from(first), CompactCatalog.EMPTY, CompactCatalog.from(second)));
+        CompactCatalog expected = CompactCatalog.from(all);
+
+        for (int i = 0; i < expected.size(); i++) {
+            Question e = expected.question(i);
+            Question m = merged.question(i);
+            assertEquals(e.getQuestion(), m.getQuestion());
+            assertEquals(e.getIdealAnswer(), m.getIdealAnswer());
+            assertEquals(e.getRole(), m.getRole());
+            assertEquals(e.getExperience(), m.getExperience());
+            assertEquals(e.getDifficulty(), m.getDifficulty());
+            assertEquals(e.getRequiredConcepts(), m.getRequiredConcepts());
+            assertEquals(e.getAdvancedConcepts(), m.getAdvancedConcepts());
+        }
+        assertEquals(expected.size(), merged.size());
+        assertEquals(expected.distinctRoles(), merged.distinctRoles());
+        assertEquals(expected.distinctConcepts(), merged.distinctConcepts());
+        assertEquals(expected.findIds("backend engineer", "junior"), merged.findIds("backend engineer", "junior"));
+    }
+}
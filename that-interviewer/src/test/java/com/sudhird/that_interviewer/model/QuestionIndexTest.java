@@ -0,0 +1,96 @@
+package com.sudhird.that_interviewer.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.IntPredicate;
+
+import static com.sudhird.that_interviewer.model.CompactCatalogTest.question;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class QuestionIndexTest {
+
+    private static final IntPredicate ALL = id -> true;
+
+    private final CompactCatalog catalog = CompactCatalog.from(List.of(
+            question("How does a HashMap handle collisions?", "Backend Engineer", "junior", List.of("buckets"), List.of()),
+            question("Explain garbage collection", "Backend Engineer", "senior", List.of("gc roots"), List.of("hashmap")),
+            question("What is CSS specificity?", "Frontend Engineer", "junior", List.of(), List.of()),
+            question("Tune a ConcurrentHashMap", "Backend Engineer", "senior", List.of("hashmap", "striping"), List.of())
+    ));
+    private final QuestionIndex index = QuestionIndex.build(catalog);
+
+    @Test
+    void requiredConceptsOutrankAdvancedConceptsAndText() {
+        // "hashmap" is a required concept of #3, an advanced concept of #1 and only text in #0
+        assertEquals(List.of(3, 1, 0), ids(index.search("hashmap", ALL, 0, 10)));
+    }
+
+    @Test
+    void termsAcrossFieldsAccumulate() {
+        QuestionIndex.Result result = index.search("hashmap buckets", ALL, 0, 10);
+        assertEquals(0, result.hits().get(0).id());
+        assertEquals(3, result.totalHits());
+    }
+
+    @Test
+    void filterIsAppliedBeforeCountingAndRanking() {
+        QuestionIndex.Result result = index.search("hashmap", catalog.filter(null, "junior"), 0, 10);
+        assertEquals(List.of(0), ids(result));
+        assertEquals(1, result.totalHits());
+    }
+
+    @Test
+    void pagesAreSlicesOfTheFullRankingAndTotalCountsEveryMatch() {
+        List<Integer> full = ids(index.search("hashmap", ALL, 0, 10));
+        List<Integer> paged = new ArrayList<>();
+        for (int offset = 0; offset < 3; offset++) {
+            QuestionIndex.Result page = index.search("hashmap", ALL, offset, 1);
+            assertEquals(3, page.totalHits());
+            paged.addAll(ids(page));
+        }
+        assertEquals(full, paged);
+
+        QuestionIndex.Result beyond = index.search("hashmap", ALL, 5, 2);
+        assertEquals(List.of(), beyond.hits());
+        assertEquals(3, beyond.totalHits());
+    }
+
+    @Test
+    void tiesBreakByIdAndRepeatedQueriesAreStable() {
+        CompactCatalog twins = CompactCatalog.from(List.of(
+                question("Other topic", null, null, List.of(), List.of()),
+                question("Explain locks", null, null, List.of(), List.of()),
+                question("Explain locks", null, null, List.of(), List.of()),
+                question("Explain locks", null, null, List.of(), List.of())
+        ));
+        QuestionIndex twinIndex = QuestionIndex.build(twins);
+        for (int i = 0; i < 3; i++) {
+            // Scratch arrays are reused between queries, so scores must not leak across calls
+            QuestionIndex.Result result = twinIndex.search("locks", ALL, 0, 2);
+            assertEquals(List.of(1, 2), ids(result));
+            assertEquals(3, result.totalHits());
+            assertEquals(result.hits().get(0).score(), result.hits().get(1).score());
+        }
+    }
+
+    @Test
+    void stopwordsAndBlankQueriesMatchNothing() {
+        assertEquals(0, index.search("what is the", ALL, 0, 10).totalHits());
+        assertEquals(0, index.search("   ", ALL, 0, 10).totalHits());
+        assertEquals(0, index.search(null, ALL, 0, 10).totalHits());
+        assertEquals(0, index.search("kubernetes", ALL, 0, 10).totalHits());
+        assertTrue(QuestionIndex.EMPTY.search("hashmap", ALL, 0, 10).hits().isEmpty());
+    }
+
+    @Test
+    void tokenizerLowercasesSplitsAndDropsShortTokens() {
+        assertEquals(List.of("gc", "roots", "java8"), QuestionIndex.tokenize("GC-roots in a Java8 x"));
+    }
+
+    private static List<Integer> ids(QuestionIndex.Result result) {
+        return result.hits().stream().map(QuestionIndex.Hit::id).toList();
+    }
+}
@@ -0,0 +1,87 @@
+package com.sudhird.that_interviewer.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ScoreHistogramTest {
+
+    @Test
+    void emptyHistogramHasNoRank() {
+        ScoreHistogram h = new ScoreHistogram();
+        assertEquals(Optional.empty(), h.percentileRank(0.5));
+        assertEquals(Optional.empty(), h.percentileRankAmongOthers(0.5));
+        assertEquals(0, h.count());
+    }
+
+    @Test
+    void rankCountsStrictlyLowerScores() {
+        ScoreHistogram h = histogram(0.2, 0.4, 0.4, 0.6, 0.8);
+
+        assertEquals(Optional.of(0.0), h.percentileRank(0.2));
+        assertEquals(Optional.of(20.0), h.percentileRank(0.4));   // ties are not "better than"
+        assertEquals(Optional.of(80.0), h.percentileRank(0.7));
+        assertEquals(Optional.of(100.0), h.percentileRank(1.0));
+    }
+
+    @Test
+    void rankIsRoundedToOneDecimal() {
+        ScoreHistogram h = histogram(0.1, 0.2, 0.3);
+        assertEquals(Optional.of(33.3), h.percentileRank(0.2));
+        assertEquals(Optional.of(66.7), h.percentileRank(0.3));
+    }
+
+    @Test
+    void scoresAreBinnedToTwoDecimalsAndClamped() {
+        ScoreHistogram h = histogram(-0.5, 0.0, 0.004, 0.996, 1.0, 7.0);
+        long[] bins = h.toArray();
+
+        assertEquals(3, bins[0]);
+        assertEquals(3, bins[100]);
+        assertEquals(6, h.count());
+    }
+
+    @Test
+    void firstAnswerHasNoOneToBeat() {
+        ScoreHistogram h = histogram(0.9);
+        assertEquals(Optional.empty(), h.percentileRankAmongOthers(0.9));
+
+        h.record(0.3);
+        assertEquals(Optional.of(100.0), h.percentileRankAmongOthers(0.9));
+        assertEquals(Optional.of(0.0), h.percentileRankAmongOthers(0.3));
+    }
+
+    @Test
+    void amongOthersLeavesOutOneTie() {
+        ScoreHistogram h = histogram(0.5, 0.5, 0.2);
+        // Against {0.5, 0.2}: better than one of two
+        assertEquals(Optional.of(50.0), h.percentileRankAmongOthers(0.5));
+    }
+
+    @Test
+    void amongOthersFallsBackWhenScoreWasNotRecorded() {
+        ScoreHistogram h = histogram(0.2, 0.4);
+        assertEquals(h.percentileRank(0.3), h.percentileRankAmongOthers(0.3));
+    }
+
+    @Test
+    void mergeAndArrayRoundTripPreserveCounts() {
+        ScoreHistogram a = histogram(0.1, 0.5);
+        ScoreHistogram b = histogram(0.5, 0.9);
+        a.merge(b);
+
+        ScoreHistogram copy = ScoreHistogram.of(a.toArray());
+        assertArrayEquals(a.toArray(), copy.toArray());
+        assertEquals(4, copy.count());
+        assertEquals(Optional.of(25.0), copy.percentileRank(0.5));
+    }
+
+    private static ScoreHistogram histogram(double... scores) {
+        ScoreHistogram h = new ScoreHistogram();
+        for (double s : scores) h.record(s);
+        return h;
+    }
+}
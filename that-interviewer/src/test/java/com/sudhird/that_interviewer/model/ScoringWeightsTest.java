@@ -0,0 +1,45 @@
+package com.sudhird.that_interviewer.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class ScoringWeightsTest {
+
+    private static final ScoringWeights V1 = new ScoringWeights("v1", 0.6, 0.3, 0.1, ScoringWeights.KeywordOnly.REQUIRED);
+    private static final ScoringWeights V2 = new ScoringWeights("v2", 0.6, 0.3, 0.1, ScoringWeights.KeywordOnly.RENORMALIZE);
+
+    @Test
+    void allSignalsUseTheFullFormula() {
+        Map<String, Double> signals = Map.of(
+                ScoringWeights.SIMILARITY, 0.8, ScoringWeights.REQUIRED, 0.5, ScoringWeights.ADVANCED, 1.0);
+
+        assertEquals(0.8 * 0.6 + 0.5 * 0.3 + 1.0 * 0.1, V1.combine(signals), 1e-9);
+        assertEquals(V1.combine(signals), V2.combine(signals), 1e-9);
+    }
+
+    @Test
+    void keywordOnlyFollowsTheSetsPolicy() {
+        Map<String, Double> keywordOnly = Map.of(ScoringWeights.REQUIRED, 0.5, ScoringWeights.ADVANCED, 1.0);
+
+        assertEquals(0.5, V1.combine(keywordOnly), 1e-9);
+        assertEquals(0.5 * 0.75 + 1.0 * 0.25, V2.combine(keywordOnly), 1e-9);
+    }
+
+    @Test
+    void unknownSignalsCarryNoWeight() {
+        assertEquals(0.5, V2.combine(Map.of(ScoringWeights.REQUIRED, 0.5, "novelty", 1.0)), 1e-9);
+    }
+
+    @Test
+    void invalidWeightsAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> new ScoringWeights("x", -0.1, 0.5, 0.5, null));
+        assertThrows(IllegalArgumentException.class, () -> new ScoringWeights("x", 0.0, 0.0, 0.0, null));
+        assertThrows(IllegalArgumentException.class, () -> new ScoringWeights("x", Double.NaN, 0.5, 0.5, null));
+        assertThrows(IllegalArgumentException.class, () -> new ScoringWeights(" ", 0.6, 0.3, 0.1, null));
+        assertEquals(ScoringWeights.KeywordOnly.RENORMALIZE, new ScoringWeights("x", 1, 0, 0, null).keywordOnly());
+    }
+}
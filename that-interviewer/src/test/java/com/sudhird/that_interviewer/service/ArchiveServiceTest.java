@@ -0,0 +1,122 @@
+package com.sudhird.that_interviewer.service;
+
+import com.sudhird.that_interviewer.model.ArchiveSegment;
+import com.sudhird.that_interviewer.model.EvaluationRecord;
+import com.sudhird.that_interviewer.repository.EvaluationRecordRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.data.domain.SliceImpl;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ArchiveServiceTest {
+
+    private static final Instant OLD = Instant.parse("2025-01-01T00:00:00Z");
+
+    @TempDir
+    Path dir;
+
+    private final EvaluationRecordRepository repository = mock(EvaluationRecordRepository.class);
+    private ArchiveService archive;
+
+    @AfterEach
+    void tearDown() {
+        if (archive != null) archive.shutdown();
+    }
+
+    private static EvaluationRecord record(long id, String sessionId, Instant submittedAt) {
+        EvaluationRecord r = new EvaluationRecord();
+        r.setId(id);
+        r.setSessionId(sessionId);
+        r.setQuestionId(1);
+        r.setQuestionText("Question");
+        r.setUserAnswer("Answer " + id);
+        r.setFinalScore(0.5);
+        r.setSubmittedAt(submittedAt);
+        return r;
+    }
+
+    private void archived(EvaluationRecord... rows) throws IOException {
+        ArchiveSegment.write(dir.resolve(String.format("segment-%019d-%019d.tias",
+                rows[0].getId(), rows[rows.length - 1].getId())), List.of(rows));
+    }
+
+    private void live(EvaluationRecord... rows) {
+        when(repository.findByIdBetweenOrderByIdAsc(anyLong(), anyLong(), any()))
+                .thenAnswer(call -> {
+                    long from = call.getArgument(0);
+                    long to = call.getArgument(1);
+                    return new SliceImpl<>(List.of(rows).stream()
+                            .filter(r -> r.getId() >= from && r.getId() <= to)
+                            .toList());
+                });
+    }
+
+    private ArchiveService open() {
+        archive = new ArchiveService(repository, true, dir.toString(), 90, 100, 0);
+        archive.init();
+        return archive;
+    }
+
+    @Test
+    void everyRowArchivedKeepsTheArchiveAttached() throws IOException {
+        archived(record(1, "s1", OLD), record(2, "s1", OLD), record(3, "s2", OLD));
+        live();
+
+        open();
+
+        assertTrue(archive.findById(2).isPresent());
+        assertEquals(3, archive.maxArchivedId());
+
+        // The sequence carries on past the archive
+        archive.checkIssuedId(4);
+        assertTrue(archive.findById(2).isPresent());
+    }
+
+    @Test
+    void leftoverRowsOfAnInterruptedArchivePassKeepTheArchiveAttached() throws IOException {
+        archived(record(1, "s1", OLD), record(2, "s1", OLD), record(4, "s2", OLD));
+        // #2 was written to the segment before a crash skipped its delete; #3 was too young to archive
+        live(record(2, "s1", OLD), record(3, "s3", Instant.now()));
+
+        open();
+
+        assertTrue(archive.findById(1).isPresent());
+    }
+
+    @Test
+    void liveRowWithAnArchivedIdButOtherContentDetachesTheArchive() throws IOException {
+        archived(record(1, "s1", OLD), record(2, "s1", OLD));
+        live(record(1, "fresh", Instant.now()));
+
+        open();
+
+        assertTrue(archive.findById(2).isEmpty());
+        assertEquals(0, archive.maxArchivedId());
+    }
+
+    @Test
+    void reissuedIdDetachesTheArchive() throws IOException {
+        archived(record(5, "s1", OLD), record(6, "s1", OLD));
+        live();
+        open();
+        assertTrue(archive.findById(5).isPresent());
+
+        // A restarted in-memory database starts its ids over
+        archive.checkIssuedId(1);
+
+        assertTrue(archive.findById(5).isEmpty());
+        assertEquals(List.of(), archive.findBySessionId("s1"));
+    }
+}
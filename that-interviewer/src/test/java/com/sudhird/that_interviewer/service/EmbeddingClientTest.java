@@ -0,0 +1,175 @@
+package com.sudhird.that_interviewer.service;
+
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.HttpMessageWriter;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.mock.http.client.reactive.MockClientHttpRequest;
+import org.springframework.web.reactive.function.BodyInserter;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeStrategies;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class EmbeddingClientTest {
+
+    private static final Pattern TEXT1 = Pattern.compile("\"text1\"\\s*:\\s*\"([^\"]*)\"");
+    private static final ExchangeStrategies STRATEGIES = ExchangeStrategies.withDefaults();
+    private static final long LONG_WINDOW_MILLIS = 10_000;
+
+    private final SimpleMeterRegistry meters = new SimpleMeterRegistry();
+    // The user answers of every POST /similarity/batch, in request order
+    private final List<List<String>> batches = new CopyOnWriteArrayList<>();
+    private final ExecutorService callers = Executors.newCachedThreadPool();
+    private EmbeddingClient client;
+
+    @AfterEach
+    void tearDown() {
+        if (client != null) client.shutdown();
+        callers.shutdownNow();
+    }
+
+    @Test
+    void fullBatchIsSentWithoutWaitingForTheWindow() throws Exception {
+        client = client(3, LONG_WINDOW_MILLIS, EmbeddingClientTest::echo);
+
+        long start = System.nanoTime();
+        List<Optional<Double>> results = callConcurrently("0.1", "0.2", "0.3");
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertEquals(List.of(Optional.of(0.1), Optional.of(0.2), Optional.of(0.3)), results);
+        assertEquals(1, batches.size());
+        assertEquals(3, batches.get(0).size());
+        assertTrue(elapsedMillis < LONG_WINDOW_MILLIS / 2, "waited " + elapsedMillis + " ms for a full batch");
+    }
+
+    @Test
+    void partialBatchIsSentWhenTheWindowEnds() throws Exception {
+        client = client(32, 50, EmbeddingClientTest::echo);
+
+        assertEquals(List.of(Optional.of(0.4)), callConcurrently("0.4"));
+        assertEquals(List.of(List.of("0.4")), batches);
+    }
+
+    @Test
+    void overflowStartsANewBatchAndEveryCallerGetsItsOwnResult() throws Exception {
+        client = client(3, 100, EmbeddingClientTest::echo);
+
+        List<String> answers = List.of("0.1", "0.2", "0.3", "0.4", "0.5");
+        List<Optional<Double>> results = callConcurrently(answers.toArray(String[]::new));
+
+        for (int i = 0; i < answers.size(); i++) {
+            assertEquals(Optional.of(Double.parseDouble(answers.get(i))), results.get(i));
+        }
+        assertEquals(List.of(3, 2), batches.stream().map(List::size).toList());
+    }
+
+    @Test
+    void sizeMismatchCompletesEveryCallerEmpty() throws Exception {
+        client = client(2, LONG_WINDOW_MILLIS, texts -> json(texts.subList(1, texts.size())));
+
+        assertEquals(List.of(Optional.empty(), Optional.empty()), callConcurrently("0.1", "0.2"));
+    }
+
+    @Test
+    void unavailableServiceCompletesEveryCallerEmpty() throws Exception {
+        client = client(2, LONG_WINDOW_MILLIS, texts -> ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body("{\"error\": \"embedding_unavailable\"}")
+                .build());
+
+        assertEquals(List.of(Optional.empty(), Optional.empty()), callConcurrently("0.1", "0.2"));
+    }
+
+    @Test
+    void batchSizeAndWaitAreRecorded() throws Exception {
+        client = client(3, 100, EmbeddingClientTest::echo);
+
+        callConcurrently("0.1", "0.2", "0.3", "0.4");
+
+        DistributionSummary sizes = meters.get("embedding.batch.size").summary();
+        assertEquals(2, sizes.count());
+        assertEquals(4.0, sizes.totalAmount());
+        assertEquals(3.0, sizes.max());
+        assertEquals(4, meters.get("embedding.batch.wait").timer().count());
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private EmbeddingClient client(int maxSize, long windowMillis, Function<List<String>, ClientResponse> responder) {
+        WebClient.Builder builder = WebClient.builder().exchangeFunction(request -> bodyOf(request).map(body -> {
+            List<String> texts = new ArrayList<>();
+            Matcher m = TEXT1.matcher(body);
+            while (m.find()) texts.add(m.group(1));
+            batches.add(List.copyOf(texts));
+            return responder.apply(texts);
+        }));
+        return new EmbeddingClient(builder, meters, "http://embedding.test", 2, true, maxSize, windowMillis);
+    }
+
+    /** Calls getSimilarity from one thread per answer and returns the results in argument order. */
+    private List<Optional<Double>> callConcurrently(String... answers) throws Exception {
+        List<Future<Optional<Double>>> futures = new ArrayList<>();
+        for (String answer : answers) {
+            futures.add(callers.submit(() -> client.getSimilarity(answer, "ideal")));
+            Thread.sleep(5);   // keeps arrival order, and so batch composition, deterministic
+        }
+        List<Optional<Double>> results = new ArrayList<>();
+        for (Future<Optional<Double>> f : futures) results.add(f.get());
+        return results;
+    }
+
+    /** Answers each pair with its user answer parsed as the similarity. */
+    private static ClientResponse echo(List<String> texts) {
+        return json(texts);
+    }
+
+    private static ClientResponse json(List<String> similarities) {
+        return ClientResponse.create(HttpStatus.OK)
+                .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                .body(similarities.stream().collect(Collectors.joining(", ", "{\"similarities\": [", "]}")))
+                .build();
+    }
+
+    private static Mono<String> bodyOf(ClientRequest request) {
+        MockClientHttpRequest http = new MockClientHttpRequest(request.method(), request.url());
+        return request.body().insert(http, new BodyInserter.Context() {
+            @Override
+            public List<HttpMessageWriter<?>> messageWriters() {
+                return STRATEGIES.messageWriters();
+            }
+
+            @Override
+            public Optional<ServerHttpRequest> serverRequest() {
+                return Optional.empty();
+            }
+
+            @Override
+            public Map<String, Object> hints() {
+                return Map.of();
+            }
+        }).then(Mono.defer(http::getBodyAsString));
+    }
+}
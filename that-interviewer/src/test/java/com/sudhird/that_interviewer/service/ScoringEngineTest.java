@@ -0,0 +1,204 @@
+package com.sudhird.that_interviewer.service;
+
+import com.sudhird.that_interviewer.dto.ScoringResult;
+import com.sudhird.that_interviewer.model.Question;
+import com.sudhird.that_interviewer.model.ScoringWeights;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class ScoringEngineTest {
+
+    private static final ScoringWeights V2 =
+            new ScoringWeights("v2", 0.6, 0.3, 0.1, ScoringWeights.KeywordOnly.RENORMALIZE);
+    private static final Map<String, Double> KEYWORDS =
+            Map.of(ScoringWeights.REQUIRED, 1.0, ScoringWeights.ADVANCED, 0.0);
+
+    private final Question question = question();
+    private ScoringEngine engine;
+
+    @AfterEach
+    void tearDown() {
+        if (engine != null) engine.shutdown();
+    }
+
+    @Test
+    void slowScorerIsDroppedAtItsDeadlineAndTheWeightsRenormalize() {
+        FakeScorer keyword = new FakeScorer("keyword", 1_000, 0, true, KEYWORDS);
+        FakeScorer embedding = new FakeScorer("embedding", 100, 2_000, false,
+                Map.of(ScoringWeights.SIMILARITY, 0.9));
+        engine = engine(keyword, embedding);
+
+        EvaluationTimings timings = new EvaluationTimings(1, "s1");
+        long start = System.nanoTime();
+        ScoringResult result = engine.score("answer", question, timings);
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        // required*0.3 / (0.3 + 0.1): the similarity weight is left out
+        assertEquals(0.75, result.finalScore(), 1e-9);
+        assertEquals(Optional.empty(), result.similarityScore());
+        assertTrue(elapsedMillis < 1_000, "waited " + elapsedMillis + " ms for a scorer past its deadline");
+
+        String header = timings.toServerTimingHeader();
+        assertTrue(header.contains("desc=\"deadline missed\""), header);
+        double reported = stageMillis(header, "embedding");
+        assertTrue(reported >= 100 && reported < 1_000, header);
+    }
+
+    @Test
+    void latencyIsTheSlowestOnTimeScorerNotTheSum() {
+        engine = engine(
+                new FakeScorer("keyword", 2_000, 300, true, KEYWORDS),
+                new FakeScorer("embedding", 2_000, 300, false, Map.of(ScoringWeights.SIMILARITY, 0.5)),
+                new FakeScorer("novelty", 2_000, 300, true, Map.of("novelty", 1.0)));
+
+        long start = System.nanoTime();
+        ScoringResult result = engine.score("answer", question, new EvaluationTimings(1, "s1"));
+        long elapsedMillis = (System.nanoTime() - start) / 1_000_000;
+
+        assertTrue(elapsedMillis < 600, "took " + elapsedMillis + " ms for three 300 ms scorers");
+        assertEquals(0.5 * 0.6 + 1.0 * 0.3, result.finalScore(), 1e-9);
+        assertEquals(Optional.of(0.5), result.similarityScore());
+    }
+
+    @Test
+    void failingScorerIsLeftOutAndReportedAsFailed() {
+        FakeScorer keyword = new FakeScorer("keyword", 1_000, 0, true, KEYWORDS);
+        Scorer broken = new FakeScorer("embedding", 1_000, 0, false, Map.of()) {
+            @Override
+            public Optional<Result> score(String userAnswer, Question question) {
+                throw new IllegalStateException("model unavailable");
+            }
+        };
+        engine = engine(keyword, broken);
+
+        EvaluationTimings timings = new EvaluationTimings(1, "s1");
+        ScoringResult result = engine.score("answer", question, timings);
+
+        assertEquals(0.75, result.finalScore(), 1e-9);
+        assertTrue(timings.toServerTimingHeader().contains("embedding;dur="), timings.toServerTimingHeader());
+        assertTrue(timings.toServerTimingHeader().contains("desc=\"failed\""), timings.toServerTimingHeader());
+    }
+
+    @Test
+    void rescoreReusesStoredSignalsForScorersThatCannotBeRecomputed() {
+        FakeScorer keyword = new FakeScorer("keyword", 1_000, 0, true,
+                Map.of(ScoringWeights.REQUIRED, 1.0, ScoringWeights.ADVANCED, 1.0));
+        FakeScorer embedding = new FakeScorer("embedding", 1_000, 0, false, Map.of(ScoringWeights.SIMILARITY, 0.9));
+        engine = engine(keyword, embedding);
+
+        Map<String, Double> stored = Map.of(
+                ScoringWeights.SIMILARITY, 0.2, ScoringWeights.REQUIRED, 0.0, ScoringWeights.ADVANCED, 0.0);
+        ScoringResult result = engine.rescore("answer", question, V2, stored, true);
+
+        assertEquals(0, embedding.calls.get());
+        assertEquals(1, keyword.calls.get());
+        // Stored similarity, fresh keyword signals
+        assertEquals(0.2 * 0.6 + 1.0 * 0.3 + 1.0 * 0.1, result.finalScore(), 1e-9);
+        assertEquals(Optional.of(0.2), result.similarityScore());
+    }
+
+    @Test
+    void rescoreRunsAMissingScorerOnlyWhenAskedTo() {
+        FakeScorer keyword = new FakeScorer("keyword", 1_000, 0, true, KEYWORDS);
+        FakeScorer embedding = new FakeScorer("embedding", 1_000, 0, false, Map.of(ScoringWeights.SIMILARITY, 0.5));
+        engine = engine(keyword, embedding);
+        Map<String, Double> keywordOnly = Map.of(ScoringWeights.REQUIRED, 0.0, ScoringWeights.ADVANCED, 0.0);
+
+        ScoringResult kept = engine.rescore("answer", question, V2, keywordOnly, false);
+        assertEquals(0, embedding.calls.get());
+        assertEquals(Optional.empty(), kept.similarityScore());
+        assertEquals(0.75, kept.finalScore(), 1e-9);
+
+        ScoringResult refreshed = engine.rescore("answer", question, V2, keywordOnly, true);
+        assertEquals(1, embedding.calls.get());
+        assertEquals(Optional.of(0.5), refreshed.similarityScore());
+    }
+
+    // ── Helpers ───────────────────────────────────────────────────────────────
+
+    private static ScoringEngine engine(Scorer... scorers) {
+        ScoringWeightsRegistry registry = mock(ScoringWeightsRegistry.class);
+        when(registry.active()).thenReturn(V2);
+        return new ScoringEngine(List.of(scorers), registry);
+    }
+
+    private static Question question() {
+        Question q = new Question();
+        q.setId(1);
+        q.setQuestion("How does a HashMap handle collisions?");
+        q.setRequiredConcepts(List.of("buckets"));
+        q.setAdvancedConcepts(List.of("treeify"));
+        return q;
+    }
+
+    private static double stageMillis(String header, String stage) {
+        Matcher m = Pattern.compile(stage + ";dur=([0-9.]+)").matcher(header);
+        assertTrue(m.find(), header);
+        return Double.parseDouble(m.group(1));
+    }
+
+    /** Returns fixed signals after sleeping {@code delayMillis}; gives up quietly when cancelled. */
+    private static class FakeScorer implements Scorer {
+        private final String name;
+        private final Duration deadline;
+        private final long delayMillis;
+        private final boolean recomputable;
+        private final Map<String, Double> signals;
+        final AtomicInteger calls = new AtomicInteger();
+
+        FakeScorer(String name, long deadlineMillis, long delayMillis, boolean recomputable,
+                   Map<String, Double> signals) {
+            this.name = name;
+            this.deadline = Duration.ofMillis(deadlineMillis);
+            this.delayMillis = delayMillis;
+            this.recomputable = recomputable;
+            this.signals = signals;
+        }
+
+        @Override
+        public String name() {
+            return name;
+        }
+
+        @Override
+        public Duration deadline() {
+            return deadline;
+        }
+
+        @Override
+        public Set<String> signals() {
+            return signals.keySet();
+        }
+
+        @Override
+        public boolean recomputable() {
+            return recomputable;
+        }
+
+        @Override
+        public Optional<Result> score(String userAnswer, Question question) {
+            calls.incrementAndGet();
+            try {
+                Thread.sleep(delayMillis);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return Optional.empty();
+            }
+            return Optional.of(Result.of(signals));
+        }
+    }
+}